@@ -0,0 +1,128 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Noisy-neighbor benchmark for tenant isolation.
+ *
+ * <pre>
+ * TENANT_GATEWAY_TOKEN=... java benchmarks/NoisyNeighbor.java http://localhost:8080 50000 1000 128 2000
+ * </pre>
+ *
+ * Arguments: base URL, users of the big tenant, users of the small tenant, big tenant concurrency,
+ * small tenant searches per phase. Seeds both tenants, then measures the small tenant's one-year searches
+ * alone and again while the big tenant runs fifty-year searches. Each tenant spreads its requests over many
+ * X-Client-Id values, like a real user base, so per-client rate limits do not hide the contention. The
+ * application must run with {@code user.tenant.enabled=true}, the same gateway token and both tenants in
+ * {@code user.tenant.allowed}.
+ */
+public class NoisyNeighbor {
+    private static final String BIG = "noisy-big";
+    private static final String SMALL = "noisy-small";
+    private static final String GATEWAY_TOKEN = System.getenv("TENANT_GATEWAY_TOKEN");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        int bigUsers = Integer.parseInt(args[1]);
+        int smallUsers = Integer.parseInt(args[2]);
+        int bigConcurrency = Integer.parseInt(args[3]);
+        int smallSearches = Integer.parseInt(args[4]);
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        run(client, 8, bigUsers, n -> create(baseUrl, BIG, runId, n)).print("seed " + BIG);
+        run(client, 8, smallUsers, n -> create(baseUrl, SMALL, runId, n)).print("seed " + SMALL);
+
+        run(client, 8, smallSearches, n -> search(baseUrl, SMALL, n, 1)).print(SMALL + " alone");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Result> big = executor.submit(() -> run(client, bigConcurrency, smallSearches * 4,
+                    n -> search(baseUrl, BIG, n, 50)));
+            Thread.sleep(1000);
+            Result small = run(client, 8, smallSearches, n -> search(baseUrl, SMALL, n, 1));
+            small.print(SMALL + " with " + BIG);
+            big.get().print(BIG);
+        }
+    }
+
+    private static HttpRequest create(String baseUrl, String tenant, String runId, int n) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users"))
+                .header("Content-Type", "application/json")
+                .header("X-Gateway-Token", GATEWAY_TOKEN)
+                .header("X-Tenant-Id", tenant)
+                .header("X-Client-Id", "seed-" + n % 1000)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email": "noisy-%s-%d@example.com", "firstName": "Load", "lastName": "Test",
+                         "birthDate": "%d-01-01", "address": "street", "phoneNumber": "0000000000"}"""
+                        .formatted(runId, n, 1950 + n % 50)))
+                .build();
+    }
+
+    private static HttpRequest search(String baseUrl, String tenant, int n, int years) {
+        int startYear = 1950 + n % (51 - years);
+        String query = "?startDate=%d-01-01&endDate=%d-12-31".formatted(startYear, startYear + years - 1);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/search" + query))
+                .header("X-Gateway-Token", GATEWAY_TOKEN)
+                .header("X-Tenant-Id", tenant)
+                .header("X-Client-Id", tenant + "-" + n % 1000)
+                .GET()
+                .build();
+    }
+
+    private static Result run(HttpClient client, int concurrency, int total, IntFunction<HttpRequest> requests)
+            throws InterruptedException {
+        long[] latencies = new long[total];
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore permits = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                int n = i;
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(requests.apply(n),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[n] = System.nanoTime() - requestStart;
+                        if (response.statusCode() == 429 || response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        } else if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        Arrays.sort(latencies);
+        return new Result(total, rejected.get(), errors.get(), System.nanoTime() - start, latencies);
+    }
+
+    private record Result(int total, int rejected, int errors, long elapsedNanos, long[] latencies) {
+        void print(String label) {
+            System.out.printf("%-28s requests=%d rejected=%d errors=%d throughput=%.1f req/s "
+                            + "p50=%.2fms p95=%.2fms p99=%.2fms%n",
+                    label, total, rejected, errors, total / (elapsedNanos / 1e9),
+                    percentile(0.50), percentile(0.95), percentile(0.99));
+        }
+
+        private double percentile(double percentile) {
+            return latencies[(int) Math.min(latencies.length - 1, Math.round(percentile * latencies.length))] / 1e6;
+        }
+    }
+}
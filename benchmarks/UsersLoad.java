@@ -0,0 +1,94 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP load driver for the users API.
+ *
+ * <pre>
+ * java benchmarks/UsersLoad.java create http://localhost:8080 64 20000
+ * java benchmarks/UsersLoad.java search http://localhost:8080 64 5000
+ * </pre>
+ *
+ * Arguments: workload, base URL, concurrency, total requests.
+ * {@code create} inserts users born 1950-1999, {@code search} queries five-year birth date ranges over them.
+ * Prints throughput, error count and latency percentiles.
+ */
+public class UsersLoad {
+
+    public static void main(String[] args) throws Exception {
+        String workload = args[0];
+        String baseUrl = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        int total = Integer.parseInt(args[3]);
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        long[] latencies = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore permits = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                int n = i;
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request(workload, baseUrl, runId, n),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[n] = System.nanoTime() - requestStart;
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("workload=%s concurrency=%d requests=%d errors=%d%n",
+                workload, concurrency, total, errors.get());
+        System.out.printf("throughput=%.1f req/s%n", total / (elapsed / 1e9));
+        System.out.printf("latency p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), latencies[total - 1] / 1e6);
+    }
+
+    private static HttpRequest request(String workload, String baseUrl, String runId, int n) {
+        return switch (workload) {
+            case "create" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"email": "load-%s-%d@example.com", "firstName": "Load", "lastName": "Test",
+                             "birthDate": "%d-01-01", "address": "street", "phoneNumber": "0000000000"}"""
+                            .formatted(runId, n, 1950 + n % 50)))
+                    .build();
+            case "search" -> {
+                int startYear = 1950 + n % 45;
+                String query = "?startDate=%d-01-01&endDate=%d-12-31".formatted(startYear, startYear + 4);
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/search" + query))
+                        .GET()
+                        .build();
+            }
+            default -> throw new IllegalArgumentException("Unknown workload " + workload);
+        };
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1e6;
+    }
+}
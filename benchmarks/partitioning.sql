@@ -0,0 +1,56 @@
+-- Compares birth date range scans on a plain users table and on the
+-- partitioned layout from src/main/resources/db/partitioned/schema.sql.
+--
+-- Run against a scratch database after starting the application once with
+-- the "partitioned" profile (so the partitioned users table exists):
+--   psql -v rows=50000000 -f benchmarks/partitioning.sql
+
+\timing on
+
+drop table if exists users_plain;
+create table users_plain
+(
+    id           bigserial primary key,
+    email        varchar(255) not null unique,
+    first_name   varchar(255) not null,
+    last_name    varchar(255) not null,
+    birth_date   date         not null,
+    address      varchar(255),
+    phone_number varchar(255)
+);
+create index users_plain_birth_date_idx on users_plain (birth_date);
+
+insert into users_plain (email, first_name, last_name, birth_date, address, phone_number)
+select 'user' || n || '@example.com', 'first' || n, 'last' || n,
+       date '1920-01-01' + (random() * 30000)::int, 'street ' || n, lpad(n::text, 10, '0')
+from generate_series(1, :rows) n;
+
+truncate users, user_emails;
+insert into users (id, tenant_id, email, first_name, last_name, birth_date, address, phone_number)
+select nextval('users_seq'), 'default', email, first_name, last_name, birth_date, address, phone_number
+from users_plain;
+
+vacuum analyze users_plain;
+vacuum analyze users;
+
+-- Single decade: the partitioned plan should touch one partition only
+explain (analyze, buffers)
+select * from users_plain where birth_date between date '1985-01-01' and date '1989-12-31';
+explain (analyze, buffers)
+select * from users where birth_date between date '1985-01-01' and date '1989-12-31';
+
+-- Multi-decade range
+explain (analyze, buffers)
+select * from users_plain where birth_date between date '1950-01-01' and date '1979-12-31';
+explain (analyze, buffers)
+select * from users where birth_date between date '1950-01-01' and date '1979-12-31';
+
+-- Email existence check through the per-partition email index
+explain (analyze, buffers)
+select 1 from users_plain where email = 'user123456@example.com' limit 1;
+explain (analyze, buffers)
+select 1 from users where email = 'user123456@example.com' limit 1;
+
+-- Vacuum cost per relation
+vacuum (verbose) users_plain;
+vacuum (verbose) users_1980s;
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Create and search throughput of the stock settings against the high-throughput profile.
+#
+#   DATASOURCE=jdbc:postgresql://localhost:5432/users PGUSERNAME=... PGPASSWORD=... \
+#     benchmarks/profiles.sh [concurrency] [creates] [searches]
+#
+# Each mode starts from an empty schema (ddl-auto=create-drop), loads users with the create workload and
+# then runs the search workload over them. Admission control and the search result cache are switched off
+# so the numbers show the database path rather than rejected or cached requests.
+set -euo pipefail
+
+CONCURRENCY=${1:-64}
+CREATES=${2:-50000}
+SEARCHES=${3:-5000}
+PORT=${PORT:-18080}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=$ROOT/target/profiles-benchmark
+JAR=$ROOT/target/test-assignment-0.0.1-SNAPSHOT.jar
+BASE_URL=http://localhost:$PORT
+
+mkdir -p "$WORK"
+cd "$ROOT"
+sh ./mvnw -q -B -DskipTests package
+
+run() {
+    local mode=$1 profiles=$2 pid
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+        --user.admission.enabled=false --user.read.search-cache-ttl=0 > "$WORK/$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null -H 'Content-Type: application/json' -d '{"ids":[1]}' \
+        "$BASE_URL/api/v1/users/_mget"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$mode failed to start, see $WORK/$mode.log" >&2
+            return 1
+        fi
+        sleep 0.2
+    done
+
+    echo "== $mode"
+    java benchmarks/UsersLoad.java create "$BASE_URL" "$CONCURRENCY" "$CREATES"
+    java benchmarks/UsersLoad.java search "$BASE_URL" "$CONCURRENCY" "$SEARCHES"
+    kill "$pid" && wait "$pid" 2> /dev/null || true
+}
+
+run stock default
+run high-throughput high-throughput
@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Startup time and time-to-first-request for the available startup modes.
+#
+#   DATASOURCE=jdbc:postgresql://localhost:5432/users PGUSERNAME=... PGPASSWORD=... \
+#     benchmarks/startup.sh [runs]
+#
+# Modes: default, lazy (fast-startup profile), aot, cds, aot+cds+lazy and,
+# when target/test-assignment exists (mvn -Pnative native:compile), native.
+# All modes need the database from DATASOURCE to be reachable.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=$ROOT/target/startup-benchmark
+JAR_NAME=test-assignment-0.0.1-SNAPSHOT.jar
+
+mkdir -p "$WORK"
+cd "$ROOT"
+
+sh ./mvnw -q -B -DskipTests package
+cp "target/$JAR_NAME" "$WORK/default.jar"
+sh ./mvnw -q -B -DskipTests -Paot package
+cp "target/$JAR_NAME" "$WORK/aot.jar"
+
+# CDS only archives classes loaded from plain jars, so run from an unpacked
+# layout: BOOT-INF/lib jars on the class path plus the application jar.
+unpack() {
+    local jar=$1 dir=$2
+    rm -rf "$dir" && mkdir -p "$dir"
+    (cd "$dir" && jar -xf "$WORK/$jar" BOOT-INF)
+    (cd "$dir/BOOT-INF/classes" && jar -cf "$dir/application.jar" .)
+    echo "$dir/application.jar:$(ls "$dir"/BOOT-INF/lib/*.jar | tr '\n' ':')"
+}
+DEFAULT_CP=$(unpack default.jar "$WORK/default")
+AOT_CP=$(unpack aot.jar "$WORK/aot")
+
+train() {
+    local cp=$1 archive=$2
+    shift 2
+    java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" \
+        -cp "$cp" com.testassignment.TestAssignmentApplication > "$WORK/training.log" 2>&1
+}
+train "$DEFAULT_CP" "$WORK/default.jsa"
+train "$AOT_CP" "$WORK/aot.jsa" -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local mode=$1
+    shift
+    local start first_request pid
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > "$WORK/$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null -H 'Content-Type: application/json' -d '{"ids":[1]}' \
+        "http://localhost:$PORT/api/v1/users/_mget"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$mode failed to start, see $WORK/$mode.log" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    first_request=$(($(now_ms) - start))
+    kill "$pid" && wait "$pid" 2> /dev/null || true
+    local started
+    started=$(grep -oE 'Started TestAssignmentApplication in [0-9.]+' "$WORK/$mode.log" | awk '{print $4}')
+    printf '%-14s started=%6ss first-request=%6sms\n' "$mode" "${started:-?}" "$first_request"
+}
+
+for run in $(seq 1 "$RUNS"); do
+    echo "run $run"
+    measure default java -jar "$WORK/default.jar"
+    measure lazy java -jar "$WORK/default.jar" --spring.profiles.active=fast-startup
+    measure aot java -Dspring.aot.enabled=true -jar "$WORK/aot.jar"
+    measure cds java -XX:SharedArchiveFile="$WORK/default.jsa" -cp "$DEFAULT_CP" \
+        com.testassignment.TestAssignmentApplication
+    measure aot+cds+lazy java -XX:SharedArchiveFile="$WORK/aot.jsa" -Dspring.aot.enabled=true \
+        -cp "$AOT_CP" com.testassignment.TestAssignmentApplication --spring.profiles.active=fast-startup
+    if [[ -x target/test-assignment ]]; then
+        measure native target/test-assignment
+    fi
+done
@@ -0,0 +1,66 @@
+package com.testassignment.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SMOOTHING = 0.2;
+    private static final long DECREASE_INTERVAL_NANOS = 100_000_000L;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong smoothedLatencyNanos = new AtomicLong();
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime() - DECREASE_INTERVAL_NANOS);
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        long smoothed = smoothedLatencyNanos.updateAndGet(previous -> previous == 0
+                ? latencyNanos
+                : (long) (previous + SMOOTHING * (latencyNanos - previous)));
+
+        if (smoothed > targetLatencyNanos) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last >= DECREASE_INTERVAL_NANOS && lastDecrease.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * BACKOFF_RATIO)));
+            }
+        } else if (inFlightBeforeRelease * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long smoothedLatencyNanos() {
+        return smoothedLatencyNanos.get();
+    }
+}
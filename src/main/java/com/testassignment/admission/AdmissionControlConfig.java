@@ -0,0 +1,49 @@
+package com.testassignment.admission;
+
+import com.testassignment.web.ClientKeyResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "user.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(@Value("${user.admission.rate-limit.capacity}") double capacity,
+                                               @Value("${user.admission.rate-limit.refill-per-second}")
+                                               double refillPerSecond,
+                                               @Value("${user.admission.rate-limit.max-clients}") int maxClients) {
+        return new ClientRateLimiter(capacity, refillPerSecond, maxClients);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${user.admission.concurrency.initial-limit}") int initialLimit,
+            @Value("${user.admission.concurrency.min-limit}") int minLimit,
+            @Value("${user.admission.concurrency.max-limit}") int maxLimit,
+            @Value("${user.admission.concurrency.target-latency}") Duration targetLatency) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatency.toNanos());
+    }
+
+    @Bean
+    public TenantConcurrencyLimiter tenantConcurrencyLimiter(
+            @Value("${user.admission.tenant.max-share}") double maxShare,
+            @Value("${user.admission.tenant.demand-window}") Duration demandWindow) {
+        return new TenantConcurrencyLimiter(maxShare, demandWindow);
+    }
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(ClientRateLimiter clientRateLimiter,
+                                                         AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                                         TenantConcurrencyLimiter tenantConcurrencyLimiter,
+                                                         ClientKeyResolver clientKeyResolver,
+                                                         @Value("${user.admission.search.days-per-token}")
+                                                         long searchDaysPerToken) {
+        return new AdmissionControlFilter(clientRateLimiter, adaptiveConcurrencyLimiter, tenantConcurrencyLimiter,
+                clientKeyResolver, searchDaysPerToken);
+    }
+}
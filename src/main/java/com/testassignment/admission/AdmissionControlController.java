@@ -0,0 +1,22 @@
+package com.testassignment.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/admission")
+@ConditionalOnProperty(name = "user.admission.enabled", havingValue = "true")
+public class AdmissionControlController {
+    private final AdmissionControlFilter admissionControlFilter;
+
+    public AdmissionControlController(AdmissionControlFilter admissionControlFilter) {
+        this.admissionControlFilter = admissionControlFilter;
+    }
+
+    @GetMapping
+    public AdmissionMetrics getMetrics() {
+        return admissionControlFilter.metrics();
+    }
+}
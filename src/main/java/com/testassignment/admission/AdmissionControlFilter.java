@@ -0,0 +1,108 @@
+package com.testassignment.admission;
+
+import com.testassignment.tenant.TenantContext;
+import com.testassignment.web.ClientKeyResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final String SEARCH_PATH = USERS_PATH + "/search";
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final TenantConcurrencyLimiter tenantConcurrencyLimiter;
+    private final ClientKeyResolver clientKeyResolver;
+    private final long searchDaysPerToken;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder tenantLimited = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public AdmissionControlFilter(ClientRateLimiter clientRateLimiter,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  TenantConcurrencyLimiter tenantConcurrencyLimiter,
+                                  ClientKeyResolver clientKeyResolver,
+                                  long searchDaysPerToken) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.tenantConcurrencyLimiter = tenantConcurrencyLimiter;
+        this.clientKeyResolver = clientKeyResolver;
+        this.searchDaysPerToken = searchDaysPerToken;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(USERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!clientRateLimiter.tryAcquire(clientKeyResolver.resolve(request), estimateCost(request))) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests");
+            return;
+        }
+        String tenantId = TenantContext.getTenantId();
+        if (!tenantConcurrencyLimiter.tryAcquire(tenantId, concurrencyLimiter.limit())) {
+            tenantLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent requests for tenant");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            tenantConcurrencyLimiter.release(tenantId);
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded");
+            return;
+        }
+
+        admitted.increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+            tenantConcurrencyLimiter.release(tenantId);
+        }
+    }
+
+    public AdmissionMetrics metrics() {
+        return new AdmissionMetrics(admitted.sum(), rateLimited.sum(), tenantLimited.sum(), shed.sum(),
+                clientRateLimiter.trackedClients(), tenantConcurrencyLimiter.activeTenants(),
+                concurrencyLimiter.limit(), concurrencyLimiter.inFlight(),
+                concurrencyLimiter.smoothedLatencyNanos() / 1_000_000d);
+    }
+
+    double estimateCost(HttpServletRequest request) {
+        if (!SEARCH_PATH.equals(request.getRequestURI())) {
+            return 1;
+        }
+        try {
+            LocalDate startDate = LocalDate.parse(request.getParameter("startDate"));
+            LocalDate endDate = LocalDate.parse(request.getParameter("endDate"));
+            return 1 + Math.max(0, ChronoUnit.DAYS.between(startDate, endDate)) / (double) searchDaysPerToken;
+        } catch (DateTimeParseException | NullPointerException e) {
+            return 1;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
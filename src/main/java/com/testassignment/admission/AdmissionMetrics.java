@@ -0,0 +1,12 @@
+package com.testassignment.admission;
+
+public record AdmissionMetrics(long admitted,
+                               long rateLimited,
+                               long tenantLimited,
+                               long shed,
+                               int trackedClients,
+                               int activeTenants,
+                               int concurrencyLimit,
+                               int inFlight,
+                               double smoothedLatencyMs) {
+}
@@ -0,0 +1,43 @@
+package com.testassignment.admission;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ClientRateLimiter {
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double capacity;
+    private final double tokensPerSecond;
+    private final int maxClients;
+    // clients seen while the map is full share one bucket until the next sweep makes room
+    private final TokenBucket overflow;
+
+    public ClientRateLimiter(double capacity, double tokensPerSecond, int maxClients) {
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.maxClients = maxClients;
+        this.overflow = new TokenBucket(capacity, tokensPerSecond, System.nanoTime());
+    }
+
+    public boolean tryAcquire(String clientKey, double cost) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(clientKey, key -> new TokenBucket(capacity, tokensPerSecond, now))
+                    : overflow;
+        }
+        return bucket.tryConsume(Math.min(cost, capacity), now);
+    }
+
+    @Scheduled(fixedDelayString = "${user.admission.rate-limit.sweep-interval}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+}
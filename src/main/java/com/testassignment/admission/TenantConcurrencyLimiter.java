@@ -0,0 +1,71 @@
+package com.testassignment.admission;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits the current adaptive limit fairly between tenants that compete for it, so one tenant's slow searches
+ * cannot take every admission slot from the others. The split is work-conserving: a tenant alone may use the
+ * whole limit, and is capped to its fair share only while other tenants have requests in flight or have asked
+ * for a slot within the demand window. {@code maxShare} is an optional hard cap on top, 1.0 disables it.
+ * <p>
+ * Tenants are looked up per request and counted on every acquire, which is cheap because they come from the
+ * configured allow-list.
+ */
+public class TenantConcurrencyLimiter {
+    private final double maxShare;
+    private final long demandWindowNanos;
+    private final Map<String, TenantSlots> tenants = new ConcurrentHashMap<>();
+
+    public TenantConcurrencyLimiter(double maxShare, Duration demandWindow) {
+        this.maxShare = maxShare;
+        this.demandWindowNanos = demandWindow.toNanos();
+    }
+
+    public boolean tryAcquire(String tenantId, int totalLimit) {
+        long now = System.nanoTime();
+        TenantSlots slots = tenants.computeIfAbsent(tenantId, key -> new TenantSlots());
+        slots.lastDemand = now;
+        int fairShare = Math.ceilDiv(totalLimit, contendingTenants(now));
+        return slots.tryAcquire(Math.max(1, Math.min(fairShare, (int) (totalLimit * maxShare))));
+    }
+
+    public void release(String tenantId) {
+        TenantSlots slots = tenants.get(tenantId);
+        if (slots != null) {
+            slots.inFlight.decrementAndGet();
+        }
+    }
+
+    public int activeTenants() {
+        return (int) tenants.values().stream().filter(slots -> slots.inFlight.get() > 0).count();
+    }
+
+    private int contendingTenants(long now) {
+        int contending = 0;
+        for (TenantSlots slots : tenants.values()) {
+            if (slots.inFlight.get() > 0 || now - slots.lastDemand < demandWindowNanos) {
+                contending++;
+            }
+        }
+        return Math.max(1, contending);
+    }
+
+    private static final class TenantSlots {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastDemand;
+
+        private boolean tryAcquire(int limit) {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
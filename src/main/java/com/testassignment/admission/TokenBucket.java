@@ -0,0 +1,38 @@
+package com.testassignment.admission;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    public boolean tryConsume(double tokens, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            long timestamp = Math.max(current.timestamp(), nowNanos);
+            double available = Math.min(capacity,
+                    current.tokens() + (timestamp - current.timestamp()) * tokensPerNano);
+            if (available < tokens) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(available - tokens, timestamp))) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isIdle(long nowNanos) {
+        State current = state.get();
+        return current.tokens() + (nowNanos - current.timestamp()) * tokensPerNano >= capacity;
+    }
+
+    private record State(double tokens, long timestamp) {
+    }
+}
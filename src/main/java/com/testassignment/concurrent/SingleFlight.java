@@ -0,0 +1,92 @@
+package com.testassignment.concurrent;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time. Callers arriving while a call for the same key is in flight
+ * wait for it and receive its result or exception instead of running their own.
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> execution = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = call.get();
+            execution.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    /**
+     * Batch variant of {@link #execute}: keys already in flight are awaited, the remaining keys are loaded
+     * with a single call. Keys missing from the call's result map to {@code null}.
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> call) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new HashMap<>();
+        for (K key : keys) {
+            if (owned.containsKey(key) || joined.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> execution = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, execution);
+            if (existing == null) {
+                owned.put(key, execution);
+            } else {
+                joined.put(key, existing);
+            }
+        }
+
+        Map<K, V> results = new HashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                Map<K, V> loaded = call.apply(owned.keySet());
+                owned.forEach((key, execution) -> {
+                    results.put(key, loaded.get(key));
+                    execution.complete(loaded.get(key));
+                });
+            } catch (RuntimeException | Error e) {
+                owned.values().forEach(execution -> execution.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+        joined.forEach((key, execution) -> results.put(key, await(execution)));
+        return results;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> execution) {
+        try {
+            return execution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
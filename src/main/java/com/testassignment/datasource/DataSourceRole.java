@@ -0,0 +1,6 @@
+package com.testassignment.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
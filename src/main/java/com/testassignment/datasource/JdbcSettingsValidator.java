@@ -0,0 +1,100 @@
+package com.testassignment.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warns at startup about JDBC, pool and Hibernate settings that contradict each other or have no effect,
+ * see application-high-throughput.properties.
+ */
+@Component
+public class JdbcSettingsValidator {
+    private static final Logger log = LoggerFactory.getLogger(JdbcSettingsValidator.class);
+
+    private final Environment environment;
+
+    public JdbcSettingsValidator(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateOnStartup() {
+        validate().forEach(warning -> log.warn("JDBC settings: {}", warning));
+    }
+
+    List<String> validate() {
+        List<String> warnings = new ArrayList<>();
+        int batchSize = intProperty("spring.jpa.properties.hibernate.jdbc.batch_size", 0);
+        boolean autoCommit = booleanProperty("spring.datasource.hikari.auto-commit", true);
+        int maxPoolSize = intProperty("spring.datasource.hikari.maximum-pool-size", 10);
+
+        boolean providerDisablesAutoCommit = booleanProperty(
+                "spring.jpa.properties.hibernate.connection.provider_disables_autocommit", false);
+        if (providerDisablesAutoCommit && autoCommit) {
+            warnings.add("hibernate.connection.provider_disables_autocommit=true requires "
+                    + "spring.datasource.hikari.auto-commit=false, otherwise every statement commits on its own");
+        }
+        if (batchSize <= 1) {
+            if (booleanProperty("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", false)) {
+                warnings.add("reWriteBatchedInserts has no effect without hibernate.jdbc.batch_size > 1");
+            }
+            if (booleanProperty("spring.jpa.properties.hibernate.order_inserts", false)
+                    || booleanProperty("spring.jpa.properties.hibernate.order_updates", false)) {
+                warnings.add("hibernate.order_inserts/order_updates have no effect without "
+                        + "hibernate.jdbc.batch_size > 1");
+            }
+        } else if (batchSize > intProperty("spring.jpa.properties.user.id.allocation-size", 1)) {
+            warnings.add("hibernate.jdbc.batch_size is larger than user.id.allocation-size, a full batch of "
+                    + "new users needs more than one sequence call");
+        }
+        int fetchSize = intProperty("spring.jpa.properties.hibernate.jdbc.fetch_size", 0);
+        if (fetchSize > 0 && autoCommit) {
+            warnings.add("hibernate.jdbc.fetch_size is ignored by the PostgreSQL driver for statements run "
+                    + "with auto-commit on");
+        }
+        if (booleanProperty("user.datasource.replica.enabled", false)) {
+            boolean replicaAutoCommit = booleanProperty("user.datasource.replica.hikari.auto-commit", true);
+            if (providerDisablesAutoCommit && replicaAutoCommit) {
+                warnings.add("hibernate.connection.provider_disables_autocommit=true requires "
+                        + "user.datasource.replica.hikari.auto-commit=false, otherwise read-only transactions on "
+                        + "the replica run in auto-commit");
+            }
+            if (fetchSize > 0 && replicaAutoCommit) {
+                warnings.add("hibernate.jdbc.fetch_size is ignored on the read replica while "
+                        + "user.datasource.replica.hikari.auto-commit is on");
+            }
+            int replicaMaxPoolSize = intProperty("user.datasource.replica.hikari.maximum-pool-size", 10);
+            if (intProperty("user.datasource.replica.hikari.minimum-idle", replicaMaxPoolSize) > replicaMaxPoolSize) {
+                warnings.add("user.datasource.replica.hikari.minimum-idle is larger than maximum-pool-size");
+            }
+        }
+        if (intProperty("spring.datasource.hikari.minimum-idle", maxPoolSize) > maxPoolSize) {
+            warnings.add("spring.datasource.hikari.minimum-idle is larger than maximum-pool-size");
+        }
+        if (booleanProperty("user.admission.enabled", false)
+                && intProperty("user.admission.concurrency.max-limit", 0) > maxPoolSize) {
+            warnings.add("user.admission.concurrency.max-limit is larger than "
+                    + "spring.datasource.hikari.maximum-pool-size, admitted requests can queue for connections");
+        }
+        if (booleanProperty("spring.jpa.open-in-view", true) && !autoCommit) {
+            warnings.add("spring.jpa.open-in-view=true with auto-commit off runs lazy loads outside service "
+                    + "transactions in an implicit transaction that stays open until the request ends");
+        }
+        return warnings;
+    }
+
+    private int intProperty(String name, int defaultValue) {
+        return environment.getProperty(name, Integer.class, defaultValue);
+    }
+
+    private boolean booleanProperty(String name, boolean defaultValue) {
+        return environment.getProperty(name, Boolean.class, defaultValue);
+    }
+}
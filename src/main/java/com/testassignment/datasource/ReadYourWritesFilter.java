@@ -0,0 +1,31 @@
+package com.testassignment.datasource;
+
+import com.testassignment.web.ClientKeyResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ClientKeyResolver clientKeyResolver;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker readYourWritesTracker, ClientKeyResolver clientKeyResolver) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.clientKeyResolver = clientKeyResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWritesTracker.bind(clientKeyResolver.resolve(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesTracker.clear();
+        }
+    }
+}
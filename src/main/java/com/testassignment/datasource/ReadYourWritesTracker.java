@@ -0,0 +1,52 @@
+package com.testassignment.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final Duration window;
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.window = window;
+        this.windowNanos = window.toNanos();
+    }
+
+    public Duration window() {
+        return window;
+    }
+
+    public void bind(String clientKey) {
+        currentClient.set(clientKey);
+    }
+
+    public void clear() {
+        currentClient.remove();
+    }
+
+    public boolean isPinnedToPrimary() {
+        String clientKey = currentClient.get();
+        if (clientKey == null || windowNanos <= 0) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(clientKey);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    public void recordWrite() {
+        String clientKey = currentClient.get();
+        if (clientKey == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(clientKey, now);
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.testassignment.diagnostics;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.StringJoiner;
+
+/**
+ * Renders repository arguments for logs and the diagnostics report without exposing user data. Numbers,
+ * booleans and enums are kept, collections are shown by size, and every other value is replaced by its type and
+ * a salted hash. The salt is random per process, so equal values can be correlated within one run but not looked
+ * up against a list of known emails.
+ */
+final class ArgumentRedactor {
+    private static final byte[] SALT = new SecureRandom().generateSeed(16);
+
+    private ArgumentRedactor() {
+    }
+
+    static String redact(Object[] arguments) {
+        StringJoiner rendered = new StringJoiner(", ", "[", "]");
+        for (Object argument : arguments) {
+            rendered.add(redact(argument));
+        }
+        return rendered.toString();
+    }
+
+    private static String redact(Object argument) {
+        if (argument == null || argument instanceof Number || argument instanceof Boolean
+                || argument instanceof Enum<?>) {
+            return String.valueOf(argument);
+        }
+        if (argument instanceof Collection<?> collection) {
+            return "<" + collection.size() + " elements>";
+        }
+        if (argument.getClass().isArray()) {
+            return "<" + Array.getLength(argument) + " elements>";
+        }
+        return argument.getClass().getSimpleName() + "#" + hash(argument.toString());
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(SALT);
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.testassignment.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+public class DiagnosticsConfig {
+
+    @Bean
+    public static RepositoryDiagnosticsPostProcessor repositoryDiagnosticsPostProcessor(
+            ObjectProvider<QueryDiagnostics> queryDiagnostics) {
+        return new RepositoryDiagnosticsPostProcessor(queryDiagnostics);
+    }
+
+    @Bean
+    public QueryPlanSampler queryPlanSampler(JdbcTemplate jdbcTemplate,
+                                             ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new QueryPlanSampler(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public QueryDiagnostics queryDiagnostics(QueryPlanSampler queryPlanSampler,
+                                             @Value("${user.diagnostics.enabled}") boolean enabled,
+                                             @Value("${user.diagnostics.slow-query-threshold}")
+                                             Duration slowQueryThreshold,
+                                             @Value("${user.diagnostics.explain-sample-rate}")
+                                             double explainSampleRate,
+                                             @Value("${user.diagnostics.statement-count-threshold}")
+                                             int statementCountThreshold,
+                                             @Value("${user.diagnostics.max-samples}") int maxSamples) {
+        return new QueryDiagnostics(queryPlanSampler, enabled, slowQueryThreshold, explainSampleRate,
+                statementCountThreshold, maxSamples);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer diagnosticsStatementInspectorCustomizer(QueryDiagnostics queryDiagnostics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new DiagnosticsStatementInspector(queryDiagnostics));
+    }
+
+    @Bean
+    public DiagnosticsFilter diagnosticsFilter(QueryDiagnostics queryDiagnostics) {
+        return new DiagnosticsFilter(queryDiagnostics);
+    }
+}
@@ -0,0 +1,29 @@
+package com.testassignment.diagnostics;
+
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics")
+public class DiagnosticsController {
+    private final QueryDiagnostics queryDiagnostics;
+
+    public DiagnosticsController(QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @GetMapping
+    public DiagnosticsReport getReport() {
+        return queryDiagnostics.report();
+    }
+
+    @PutMapping
+    public DiagnosticsReport setEnabled(@RequestParam boolean enabled) {
+        queryDiagnostics.setEnabled(enabled);
+        return queryDiagnostics.report();
+    }
+
+    @DeleteMapping
+    public void reset() {
+        queryDiagnostics.reset();
+    }
+}
@@ -0,0 +1,33 @@
+package com.testassignment.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class DiagnosticsFilter extends OncePerRequestFilter {
+    private final QueryDiagnostics queryDiagnostics;
+
+    public DiagnosticsFilter(QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!queryDiagnostics.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        queryDiagnostics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryDiagnostics.endRequest(request.getMethod() + " " + request.getRequestURI());
+        }
+    }
+}
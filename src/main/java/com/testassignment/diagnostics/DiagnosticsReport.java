@@ -0,0 +1,9 @@
+package com.testassignment.diagnostics;
+
+import java.util.List;
+
+public record DiagnosticsReport(boolean enabled,
+                                List<QueryStats> queries,
+                                List<SlowQuery> slowQueries,
+                                List<StatementAnomaly> statementAnomalies) {
+}
@@ -0,0 +1,19 @@
+package com.testassignment.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class DiagnosticsStatementInspector implements StatementInspector {
+    private final QueryDiagnostics queryDiagnostics;
+
+    public DiagnosticsStatementInspector(QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (queryDiagnostics.isEnabled()) {
+            queryDiagnostics.onStatement(sql);
+        }
+        return sql;
+    }
+}
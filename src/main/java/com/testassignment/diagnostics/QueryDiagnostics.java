@@ -0,0 +1,156 @@
+package com.testassignment.diagnostics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects repository timings, slow queries and per-request statement counts. Every hook checks the volatile
+ * {@link #isEnabled()} flag first, so while diagnostics are switched off they cost a single field read.
+ */
+public class QueryDiagnostics {
+    private static final Logger log = LoggerFactory.getLogger(QueryDiagnostics.class);
+
+    private final QueryPlanSampler queryPlanSampler;
+    private final long slowQueryThresholdNanos;
+    private final double explainSampleRate;
+    private final int statementCountThreshold;
+    private final int maxSamples;
+    private final Map<String, MethodStats> methodStats = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Deque<StatementAnomaly> statementAnomalies = new ArrayDeque<>();
+    private final ThreadLocal<RequestStatements> requestStatements = new ThreadLocal<>();
+    private final ThreadLocal<List<String>> capturedStatements = new ThreadLocal<>();
+    private volatile boolean enabled;
+    private Clock clock = Clock.systemUTC();
+
+    public QueryDiagnostics(QueryPlanSampler queryPlanSampler, boolean enabled, Duration slowQueryThreshold,
+                            double explainSampleRate, int statementCountThreshold, int maxSamples) {
+        this.queryPlanSampler = queryPlanSampler;
+        this.enabled = enabled;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.explainSampleRate = explainSampleRate;
+        this.statementCountThreshold = statementCountThreshold;
+        this.maxSamples = maxSamples;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void reset() {
+        methodStats.clear();
+        synchronized (this) {
+            slowQueries.clear();
+            statementAnomalies.clear();
+        }
+    }
+
+    public void beginRequest() {
+        requestStatements.set(new RequestStatements());
+    }
+
+    public void endRequest(String request) {
+        RequestStatements statements = requestStatements.get();
+        requestStatements.remove();
+        if (statements != null && statements.count > statementCountThreshold) {
+            log.warn("{} executed {} SQL statements", request, statements.count);
+            addSample(statementAnomalies, new StatementAnomaly(clock.instant(), request, statements.count));
+        }
+    }
+
+    public void onStatement(String sql) {
+        RequestStatements statements = requestStatements.get();
+        if (statements != null) {
+            statements.count++;
+        }
+        List<String> captured = capturedStatements.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+    }
+
+    List<String> startCapture() {
+        List<String> previous = capturedStatements.get();
+        capturedStatements.set(new ArrayList<>());
+        return previous;
+    }
+
+    List<String> endCapture(List<String> previous) {
+        List<String> captured = capturedStatements.get();
+        if (previous == null) {
+            capturedStatements.remove();
+        } else {
+            previous.addAll(captured);
+            capturedStatements.set(previous);
+        }
+        return captured;
+    }
+
+    public void recordQuery(String method, Object[] arguments, long durationNanos, List<String> statements) {
+        methodStats.computeIfAbsent(method, key -> new MethodStats()).record(durationNanos);
+        if (durationNanos < slowQueryThresholdNanos) {
+            return;
+        }
+
+        String renderedArguments = ArgumentRedactor.redact(arguments);
+        log.warn("Slow query {} took {} ms with arguments {}", method, durationNanos / 1_000_000, renderedArguments);
+        SlowQuery slowQuery = new SlowQuery(clock.instant(), method, renderedArguments, durationNanos / 1e6,
+                List.copyOf(statements));
+        addSample(slowQueries, slowQuery);
+        if (ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            queryPlanSampler.sample(slowQuery, arguments);
+        }
+    }
+
+    public DiagnosticsReport report() {
+        List<QueryStats> queries = methodStats.entrySet().stream()
+                .map(entry -> entry.getValue().toQueryStats(entry.getKey()))
+                .sorted(Comparator.comparingDouble(QueryStats::totalMs).reversed())
+                .toList();
+        synchronized (this) {
+            return new DiagnosticsReport(enabled, queries, List.copyOf(slowQueries),
+                    List.copyOf(statementAnomalies));
+        }
+    }
+
+    private synchronized <T> void addSample(Deque<T> samples, T sample) {
+        if (samples.size() == maxSamples) {
+            samples.removeFirst();
+        }
+        samples.addLast(sample);
+    }
+
+    private static final class RequestStatements {
+        private int count;
+    }
+
+    private static final class MethodStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long durationNanos) {
+            calls.increment();
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+        }
+
+        QueryStats toQueryStats(String method) {
+            long count = calls.sum();
+            double totalMs = totalNanos.sum() / 1e6;
+            return new QueryStats(method, count, totalMs, count == 0 ? 0 : totalMs / count, maxNanos.get() / 1e6);
+        }
+    }
+}
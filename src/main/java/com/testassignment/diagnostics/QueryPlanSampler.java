@@ -0,0 +1,97 @@
+package com.testassignment.diagnostics;
+
+import com.testassignment.tenant.TenantContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs {@code EXPLAIN (ANALYZE, BUFFERS)} for sampled slow SELECTs on a single background thread inside a
+ * read-only transaction that is always rolled back. Samples are dropped while the previous ones are still running.
+ * The transaction manager is looked up lazily because the JPA setup it depends on is itself configured with
+ * {@link DiagnosticsStatementInspector}.
+ * <p>
+ * Hibernate adds a {@code tenant_id = ?} restriction to tenant-scoped entities that has no repository argument,
+ * so those placeholders are bound to the tenant of the sampled request.
+ */
+public class QueryPlanSampler {
+    // a tenant restriction placeholder in group 1, any other placeholder otherwise
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\btenant_id\\s*=\\s*(\\?)|\\?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(8),
+            runnable -> Thread.ofPlatform().name("query-plan-sampler").daemon().unstarted(runnable),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public QueryPlanSampler(JdbcTemplate jdbcTemplate, ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+    }
+
+    public void sample(SlowQuery slowQuery, Object[] arguments) {
+        String sql = slowQuery.getStatements().stream()
+                .filter(statement -> statement.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .findFirst()
+                .orElse(null);
+        if (sql == null) {
+            return;
+        }
+        Object[] parameters = bindableParameters(sql, arguments, TenantContext.getTenantId());
+        if (parameters == null) {
+            slowQuery.setPlan("Not sampled: the arguments cannot be bound to the statement positionally");
+            return;
+        }
+        executor.execute(() -> slowQuery.setPlan(explain(sql, parameters)));
+    }
+
+    private String explain(String sql, Object[] parameters) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager.getObject());
+        transactionTemplate.setReadOnly(true);
+        try {
+            return transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                return String.join("\n",
+                        jdbcTemplate.queryForList("explain (analyze, buffers) " + sql, String.class, parameters));
+            });
+        } catch (RuntimeException e) {
+            return "Explain failed: " + e.getMessage();
+        }
+    }
+
+    private static Object[] bindableParameters(String sql, Object[] arguments, String tenantId) {
+        Object[] values = Arrays.stream(arguments)
+                .filter(argument -> !(argument instanceof Pageable) && !(argument instanceof Sort))
+                .toArray();
+        if (Arrays.stream(values).anyMatch(value -> value instanceof Collection<?>)) {
+            return null;
+        }
+        List<Object> parameters = new ArrayList<>();
+        int next = 0;
+        Matcher placeholder = PLACEHOLDER.matcher(sql);
+        while (placeholder.find()) {
+            if (placeholder.group(1) != null) {
+                parameters.add(tenantId);
+            } else if (next < values.length) {
+                parameters.add(values[next++]);
+            } else {
+                return null;
+            }
+        }
+        return next == values.length ? parameters.toArray() : null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.testassignment.diagnostics;
+
+public record QueryStats(String method,
+                         long calls,
+                         double totalMs,
+                         double averageMs,
+                         double maxMs) {
+}
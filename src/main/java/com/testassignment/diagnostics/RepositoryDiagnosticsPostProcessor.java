@@ -0,0 +1,27 @@
+package com.testassignment.diagnostics;
+
+import com.testassignment.user.UserRepository;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Puts a {@link RepositoryTimingInterceptor} in front of the Spring Data proxy of {@link UserRepository}.
+ * It goes first in the advice chain because Spring Data's own query interceptor does not call further advice.
+ */
+public class RepositoryDiagnosticsPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<QueryDiagnostics> queryDiagnostics;
+
+    public RepositoryDiagnosticsPostProcessor(ObjectProvider<QueryDiagnostics> queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof UserRepository && bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, new RepositoryTimingInterceptor(queryDiagnostics.getObject(),
+                    UserRepository.class.getSimpleName()));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,34 @@
+package com.testassignment.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.List;
+
+public class RepositoryTimingInterceptor implements MethodInterceptor {
+    private final QueryDiagnostics queryDiagnostics;
+    private final String repositoryName;
+
+    public RepositoryTimingInterceptor(QueryDiagnostics queryDiagnostics, String repositoryName) {
+        this.queryDiagnostics = queryDiagnostics;
+        this.repositoryName = repositoryName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!queryDiagnostics.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        List<String> previous = queryDiagnostics.startCapture();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            List<String> statements = queryDiagnostics.endCapture(previous);
+            queryDiagnostics.recordQuery(repositoryName + "." + invocation.getMethod().getName(),
+                    invocation.getArguments(), duration, statements);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.testassignment.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SlowQuery {
+    private final Instant at;
+    private final String method;
+    private final String arguments;
+    private final double durationMs;
+    private final List<String> statements;
+    private volatile String plan;
+
+    public SlowQuery(Instant at, String method, String arguments, double durationMs, List<String> statements) {
+        this.at = at;
+        this.method = method;
+        this.arguments = arguments;
+        this.durationMs = durationMs;
+        this.statements = statements;
+    }
+
+    public Instant getAt() {
+        return at;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getArguments() {
+        return arguments;
+    }
+
+    public double getDurationMs() {
+        return durationMs;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,6 @@
+package com.testassignment.diagnostics;
+
+import java.time.Instant;
+
+public record StatementAnomaly(Instant at, String request, int statements) {
+}
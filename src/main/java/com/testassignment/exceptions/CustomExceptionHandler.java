@@ -27,6 +27,15 @@ public class CustomExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(UserValidationException.class)
+    public ResponseEntity<Object> customUserValidationErrorHandling(UserValidationException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", "Validation Failed");
+        body.put("errors", ex.getErrors());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(DuplicatedEmailException.class)
     public ResponseEntity<Object> customDuplicatedEmailHandling(DuplicatedEmailException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -66,4 +75,20 @@ public class CustomExceptionHandler {
 
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<Object> customInvalidBulkRequestHandling(InvalidBulkRequestException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Object> customIdempotencyKeyReuseHandling(IdempotencyKeyReuseException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
 }
@@ -0,0 +1,7 @@
+package com.testassignment.exceptions;
+
+public class InvalidBulkRequestException extends RuntimeException {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.testassignment.exceptions;
+
+import java.util.Map;
+
+public class UserValidationException extends RuntimeException {
+    private final Map<String, String> errors;
+
+    public UserValidationException(Map<String, String> errors) {
+        super("Validation Failed");
+        this.errors = errors;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
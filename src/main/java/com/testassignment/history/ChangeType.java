@@ -0,0 +1,7 @@
+package com.testassignment.history;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,36 @@
+package com.testassignment.history;
+
+import com.testassignment.user.UserSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+public record FieldChange(Object before, Object after) {
+    private static final Map<String, Function<UserSnapshot, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("email", UserSnapshot::email);
+        FIELDS.put("firstName", UserSnapshot::firstName);
+        FIELDS.put("lastName", UserSnapshot::lastName);
+        FIELDS.put("birthDate", UserSnapshot::birthDate);
+        FIELDS.put("address", UserSnapshot::address);
+        FIELDS.put("phoneNumber", UserSnapshot::phoneNumber);
+    }
+
+    /**
+     * Changed fields in declaration order, {@code null} snapshots stand for a user that does not exist.
+     */
+    static Map<String, FieldChange> between(UserSnapshot before, UserSnapshot after) {
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        FIELDS.forEach((field, getter) -> {
+            Object oldValue = before == null ? null : getter.apply(before);
+            Object newValue = after == null ? null : getter.apply(after);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.put(field, new FieldChange(oldValue, newValue));
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.testassignment.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testassignment.tenant.TenantContext;
+import com.testassignment.user.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+
+/**
+ * Records every user change as a {@link UserHistoryOutboxEntry} inside the transaction that makes it, so a
+ * change is committed together with its history or not at all. {@link UserHistoryOutboxRelay} turns the
+ * outbox rows into {@link UserHistoryEntry} rows off the request path.
+ */
+@Component
+public class UserHistoryAppender {
+    private final UserHistoryOutboxRepository userHistoryOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private Clock clock = Clock.systemUTC();
+
+    public UserHistoryAppender(UserHistoryOutboxRepository userHistoryOutboxRepository, ObjectMapper objectMapper) {
+        this.userHistoryOutboxRepository = userHistoryOutboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        if (FieldChange.between(event.before(), event.after()).isEmpty()) {
+            return;
+        }
+
+        UserHistoryOutboxEntry entry = new UserHistoryOutboxEntry();
+        entry.setTenantId(TenantContext.getTenantId());
+        entry.setChangedAt(clock.instant());
+        try {
+            entry.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize user change", e);
+        }
+        userHistoryOutboxRepository.save(entry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.testassignment.history;
+
+import com.testassignment.user.UserSnapshot;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/users/{id}/history")
+public class UserHistoryController {
+    private final UserHistoryService userHistoryService;
+
+    public UserHistoryController(UserHistoryService userHistoryService) {
+        this.userHistoryService = userHistoryService;
+    }
+
+    @GetMapping
+    public List<UserHistoryEntry> getUserHistory(@PathVariable Long id) {
+        return userHistoryService.getUserHistory(id);
+    }
+
+    @GetMapping("/as-of")
+    public UserSnapshot getUserAsOf(@PathVariable Long id,
+                                    @RequestParam
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant timestamp) {
+        return userHistoryService.getUserAsOf(id, timestamp);
+    }
+}
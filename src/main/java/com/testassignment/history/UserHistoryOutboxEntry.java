@@ -0,0 +1,92 @@
+package com.testassignment.history;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * A committed user change waiting to be copied into {@code user_history}. Rows are inserted in the same
+ * transaction as the change and removed by {@link UserHistoryOutboxRelay} once the history entry is written.
+ * The tenant is a plain column so the relay can drain every tenant in one pass.
+ */
+@Entity
+@Table(name = "user_history_outbox")
+public class UserHistoryOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "user_history_outbox_seq")
+    @SequenceGenerator(name = "user_history_outbox_seq", sequenceName = "user_history_outbox_seq",
+            allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private String tenantId;
+    @Column(nullable = false)
+    private Instant changedAt;
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String payload;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(length = 1000)
+    private String lastError;
+    private Instant deadLetteredAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getDeadLetteredAt() {
+        return deadLetteredAt;
+    }
+
+    public void setDeadLetteredAt(Instant deadLetteredAt) {
+        this.deadLetteredAt = deadLetteredAt;
+    }
+}
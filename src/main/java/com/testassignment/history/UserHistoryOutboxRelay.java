@@ -0,0 +1,164 @@
+package com.testassignment.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testassignment.tenant.TenantContext;
+import com.testassignment.user.UserChangedEvent;
+import com.testassignment.user.UserSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Copies {@link UserHistoryOutboxEntry} rows into {@code user_history} in batches, one transaction per tenant.
+ * The history rows are inserted in the transaction that deletes their outbox rows, so a row is relayed once
+ * even when several instances drain the outbox. A batch that fails is retried row by row so one bad entry does
+ * not hold back the others, and an entry that fails {@code user.history.max-attempts} times is dead-lettered:
+ * it stays in the outbox with {@code dead_lettered_at} set and is skipped until that column is cleared.
+ */
+@Component
+public class UserHistoryOutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(UserHistoryOutboxRelay.class);
+    private static final int MAX_BATCHES_PER_RUN = 100;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final UserHistoryOutboxRepository userHistoryOutboxRepository;
+    private final UserHistoryRepository userHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private Clock clock = Clock.systemUTC();
+
+    public UserHistoryOutboxRelay(UserHistoryOutboxRepository userHistoryOutboxRepository,
+                                  UserHistoryRepository userHistoryRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${user.history.batch-size}") int batchSize,
+                                  @Value("${user.history.max-attempts}") int maxAttempts) {
+        this.userHistoryOutboxRepository = userHistoryOutboxRepository;
+        this.userHistoryRepository = userHistoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Drains full batches until the outbox is empty or a write fails; failed entries wait for the next run.
+     */
+    @Scheduled(fixedDelayString = "${user.history.relay-interval}")
+    public void relay() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN && !Thread.currentThread().isInterrupted(); i++) {
+            List<UserHistoryOutboxEntry> batch = userHistoryOutboxRepository
+                    .findByDeadLetteredAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            boolean allWritten = batch.stream()
+                    .collect(Collectors.groupingBy(UserHistoryOutboxEntry::getTenantId, LinkedHashMap::new,
+                            Collectors.toList()))
+                    .entrySet().stream()
+                    .map(tenantBatch -> relay(tenantBatch.getKey(), tenantBatch.getValue()))
+                    .reduce(true, Boolean::logicalAnd);
+            if (!allWritten || batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private boolean relay(String tenantId, List<UserHistoryOutboxEntry> batch) {
+        try {
+            write(tenantId, batch);
+            return true;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                markFailed(batch.getFirst(), e);
+                return false;
+            }
+            log.warn("Failed to write {} user history entries, retrying them one by one", batch.size(), e);
+            boolean allWritten = true;
+            for (UserHistoryOutboxEntry entry : batch) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                allWritten &= relay(tenantId, List.of(entry));
+            }
+            return allWritten;
+        }
+    }
+
+    private void write(String tenantId, List<UserHistoryOutboxEntry> batch) {
+        List<Long> ids = batch.stream().map(UserHistoryOutboxEntry::getId).toList();
+        List<UserHistoryEntry> entries = batch.stream().map(this::toEntry).toList();
+        TenantContext.callAs(tenantId, () -> transactionTemplate.execute(status -> {
+            if (userHistoryOutboxRepository.deleteByIdIn(ids) != ids.size()) {
+                // another instance relayed some of these rows first, the rest is picked up by the next run
+                status.setRollbackOnly();
+                return null;
+            }
+            return userHistoryRepository.saveAll(entries);
+        }));
+    }
+
+    private void markFailed(UserHistoryOutboxEntry entry, RuntimeException failure) {
+        int attempts = entry.getAttempts() + 1;
+        boolean deadLetter = attempts >= maxAttempts;
+        if (deadLetter) {
+            log.error("Dead-lettered user history outbox entry {} after {} attempts", entry.getId(), attempts,
+                    failure);
+        } else {
+            log.warn("Failed to write user history outbox entry {}, attempt {} of {}", entry.getId(), attempts,
+                    maxAttempts, failure);
+        }
+        String error = String.valueOf(failure.getMessage());
+        try {
+            transactionTemplate.executeWithoutResult(status -> userHistoryOutboxRepository.markFailed(entry.getId(),
+                    attempts, error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)),
+                    deadLetter ? clock.instant() : null));
+        } catch (RuntimeException e) {
+            log.warn("Cannot record failed attempt for user history outbox entry {}", entry.getId(), e);
+        }
+    }
+
+    private UserHistoryEntry toEntry(UserHistoryOutboxEntry outboxEntry) {
+        UserChangedEvent event;
+        try {
+            event = objectMapper.readValue(outboxEntry.getPayload(), UserChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read user history outbox entry " + outboxEntry.getId(), e);
+        }
+        UserSnapshot before = event.before();
+        UserSnapshot after = event.after();
+        Map<String, FieldChange> changes = FieldChange.between(before, after);
+
+        UserHistoryEntry entry = new UserHistoryEntry();
+        entry.setTenantId(outboxEntry.getTenantId());
+        entry.setUserId(after != null ? after.id() : before.id());
+        entry.setChangeType(before == null ? ChangeType.CREATED
+                : after == null ? ChangeType.DELETED
+                : ChangeType.UPDATED);
+        entry.setChangedAt(outboxEntry.getChangedAt());
+        try {
+            entry.setChanges(objectMapper.writeValueAsString(changes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize user history changes", e);
+        }
+        if (after != null) {
+            entry.setEmail(after.email());
+            entry.setFirstName(after.firstName());
+            entry.setLastName(after.lastName());
+            entry.setBirthDate(after.birthDate());
+            entry.setAddress(after.address());
+            entry.setPhoneNumber(after.phoneNumber());
+        }
+        return entry;
+    }
+}
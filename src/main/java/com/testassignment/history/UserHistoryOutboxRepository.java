@@ -0,0 +1,29 @@
+package com.testassignment.history;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserHistoryOutboxRepository extends JpaRepository<UserHistoryOutboxEntry, Long> {
+    List<UserHistoryOutboxEntry> findByDeadLetteredAtIsNullOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("delete from UserHistoryOutboxEntry e where e.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            update UserHistoryOutboxEntry e set
+                e.attempts = :attempts,
+                e.lastError = :lastError,
+                e.deadLetteredAt = :deadLetteredAt
+            where e.id = :id""")
+    int markFailed(Long id, int attempts, String lastError, Instant deadLetteredAt);
+}
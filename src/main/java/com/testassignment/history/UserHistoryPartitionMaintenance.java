@@ -0,0 +1,29 @@
+package com.testassignment.history;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Profile("partitioned")
+public class UserHistoryPartitionMaintenance {
+    private final JdbcTemplate jdbcTemplate;
+    @Value("${user.history.partitions-ahead}")
+    private int partitionsAhead;
+    @Value("${user.history.retention-months}")
+    private int retentionMonths;
+
+    public UserHistoryPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(cron = "${user.history.partition-maintenance-cron}")
+    @Transactional
+    public void maintainPartitions() {
+        jdbcTemplate.queryForList("select user_history_create_partitions(?)", partitionsAhead);
+        jdbcTemplate.queryForList("select user_history_drop_partitions(?)", retentionMonths);
+    }
+}
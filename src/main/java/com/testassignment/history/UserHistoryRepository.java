@@ -0,0 +1,16 @@
+package com.testassignment.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserHistoryRepository extends JpaRepository<UserHistoryEntry, Long> {
+    List<UserHistoryEntry> findByUserIdOrderByChangedAtAscIdAsc(Long userId);
+
+    Optional<UserHistoryEntry> findFirstByUserIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(Long userId,
+                                                                                                    Instant asOf);
+}
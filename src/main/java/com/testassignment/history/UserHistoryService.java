@@ -0,0 +1,38 @@
+package com.testassignment.history;
+
+import com.testassignment.exceptions.UserNotFoundException;
+import com.testassignment.user.UserSnapshot;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class UserHistoryService {
+    private final UserHistoryRepository userHistoryRepository;
+
+    public UserHistoryService(UserHistoryRepository userHistoryRepository) {
+        this.userHistoryRepository = userHistoryRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserHistoryEntry> getUserHistory(Long userId) {
+        List<UserHistoryEntry> history = userHistoryRepository.findByUserIdOrderByChangedAtAscIdAsc(userId);
+        if (history.isEmpty()) {
+            throw new UserNotFoundException(String.format("No history for user with id %d", userId));
+        }
+        return history;
+    }
+
+    @Transactional(readOnly = true)
+    public UserSnapshot getUserAsOf(Long userId, Instant timestamp) {
+        return userHistoryRepository.findFirstByUserIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(userId,
+                        timestamp)
+                .filter(entry -> entry.getChangeType() != ChangeType.DELETED)
+                .map(entry -> new UserSnapshot(entry.getUserId(), entry.getEmail(), entry.getFirstName(),
+                        entry.getLastName(), entry.getBirthDate(), entry.getAddress(), entry.getPhoneNumber()))
+                .orElseThrow(() -> new UserNotFoundException(
+                        String.format("User with id %d not found at %s", userId, timestamp)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.testassignment.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${user.idempotency.max-entries}") int maxEntries,
+                                                     @Value("${user.idempotency.ttl}") Duration ttl) {
+        return new InMemoryIdempotencyStore(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.idempotency.store", havingValue = "jpa")
+    public JpaIdempotencyStore jpaIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                                                   @Value("${user.idempotency.ttl}") Duration ttl) {
+        return new JpaIdempotencyStore(idempotencyRecordRepository, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    public IdempotencyService idempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        return new IdempotencyService(idempotencyStore, objectMapper);
+    }
+}
@@ -0,0 +1,90 @@
+package com.testassignment.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testassignment.concurrent.SingleFlight;
+import com.testassignment.exceptions.IdempotencyKeyReuseException;
+import com.testassignment.tenant.TenantContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class IdempotencyService {
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<String, Execution> inFlight = new SingleFlight<>();
+
+    public IdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T execute(String idempotencyKey, String operation, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        String storeKey = TenantContext.getTenantId() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(operation, request);
+        Optional<StoredResponse> stored = idempotencyStore.find(storeKey);
+        if (stored.isPresent()) {
+            verifyFingerprint(stored.get().fingerprint(), fingerprint);
+            return read(stored.get().body(), responseType);
+        }
+
+        Execution execution = inFlight.execute(storeKey, () -> idempotencyStore.find(storeKey)
+                .map(response -> new Execution(response, null))
+                .orElseGet(() -> {
+                    T result = action.get();
+                    StoredResponse response = new StoredResponse(fingerprint, write(result));
+                    StoredResponse winner = idempotencyStore.putIfAbsent(storeKey, response);
+                    return new Execution(winner, winner == response ? result : null);
+                }));
+
+        verifyFingerprint(execution.response().fingerprint(), fingerprint);
+        return execution.result() != null
+                ? responseType.cast(execution.result())
+                : read(execution.response().body(), responseType);
+    }
+
+    private void verifyFingerprint(String storedFingerprint, String fingerprint) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException("Idempotency key was already used for a different request");
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot replay stored response", e);
+        }
+    }
+
+    private record Execution(StoredResponse response, Object result) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.testassignment.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    Optional<StoredResponse> find(String key);
+
+    /**
+     * Stores the response unless the key already holds an unexpired one, and returns whichever response is stored.
+     */
+    StoredResponse putIfAbsent(String key, StoredResponse response);
+}
@@ -0,0 +1,70 @@
+package com.testassignment.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded map evicted in insertion order. Every entry has the same TTL, so the oldest entry is also the first
+ * to expire.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(clock.instant())) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.response());
+    }
+
+    @Override
+    public StoredResponse putIfAbsent(String key, StoredResponse response) {
+        Instant now = clock.instant();
+        Entry entry = new Entry(key, response, now.plus(ttl));
+        Entry stored = entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now) ? entry : existing);
+        if (stored == entry) {
+            insertionOrder.add(entry);
+            evict(now);
+        }
+        return stored.response();
+    }
+
+    private void evict(Instant now) {
+        Entry eldest;
+        while ((eldest = insertionOrder.peek()) != null && (entries.size() > maxEntries || eldest.isExpired(now))) {
+            Entry polled = insertionOrder.poll();
+            if (polled != null) {
+                entries.remove(polled.key(), polled);
+            }
+        }
+    }
+
+    private record Entry(String key, StoredResponse response, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.testassignment.idempotency;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+public class JpaIdempotencyStore implements IdempotencyStore {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository, Duration ttl, Clock clock) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(clock.instant()))
+                .map(record -> new StoredResponse(record.getFingerprint(), record.getResponse()));
+    }
+
+    @Override
+    public StoredResponse putIfAbsent(String key, StoredResponse response) {
+        Instant now = clock.instant();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        record.setFingerprint(response.fingerprint());
+        record.setResponse(response.body());
+        record.setExpiresAt(now.plus(ttl));
+        idempotencyRecordRepository.deleteExpired(key, now);
+        try {
+            idempotencyRecordRepository.saveAndFlush(record);
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            // another instance stored the same key first, its response wins
+            return find(key).orElse(response);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.idempotency.purge-interval}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteExpired(clock.instant());
+    }
+}
@@ -0,0 +1,4 @@
+package com.testassignment.idempotency;
+
+public record StoredResponse(String fingerprint, String body) {
+}
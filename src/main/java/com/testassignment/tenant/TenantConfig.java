@@ -0,0 +1,26 @@
+package com.testassignment.tenant;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+                new TenantIdentifierResolver());
+    }
+
+    @Bean
+    public TenantFilter tenantFilter(@Value("${user.tenant.enabled}") boolean enabled,
+                                     @Value("${user.tenant.gateway-token}") String gatewayToken,
+                                     @Value("${user.tenant.allowed}") Set<String> allowedTenants) {
+        return new TenantFilter(enabled, gatewayToken, allowedTenants);
+    }
+}
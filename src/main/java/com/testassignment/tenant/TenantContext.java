@@ -0,0 +1,43 @@
+package com.testassignment.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Tenant of the current thread. Requests get it from {@link TenantFilter}; background work that has no
+ * request runs as {@link #DEFAULT_TENANT} unless it switches explicitly with {@link #callAs(String, Supplier)}.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT_TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT_TENANT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+
+    public static <T> T callAs(String tenantId, Supplier<T> action) {
+        String previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.set(tenantId);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_TENANT.remove();
+            } else {
+                CURRENT_TENANT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.testassignment.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant of {@value #USERS_PATH} requests. Runs before the admission, read-your-writes and
+ * diagnostics filters so their per-client state is already tenant-scoped.
+ * <p>
+ * With multi-tenancy disabled every request belongs to {@link TenantContext#DEFAULT_TENANT} and a
+ * {@value #TENANT_ID_HEADER} header is rejected. With it enabled the tenant is taken from the
+ * {@value #TENANT_ID_HEADER} header set by the authenticating gateway, which proves itself with the shared
+ * token in {@value #GATEWAY_TOKEN_HEADER}, and must be one of the allowed tenants. Requests are never
+ * defaulted to a tenant they did not authenticate as.
+ */
+public class TenantFilter extends OncePerRequestFilter implements Ordered {
+    public static final String TENANT_ID_HEADER = "X-Tenant-Id";
+    public static final String GATEWAY_TOKEN_HEADER = "X-Gateway-Token";
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final Pattern TENANT_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final boolean enabled;
+    private final byte[] gatewayToken;
+    private final Set<String> allowedTenants;
+
+    public TenantFilter(boolean enabled, String gatewayToken, Set<String> allowedTenants) {
+        if (enabled && (gatewayToken == null || gatewayToken.isBlank())) {
+            throw new IllegalStateException("user.tenant.gateway-token is required when multi-tenancy is enabled");
+        }
+        if (enabled && allowedTenants.isEmpty()) {
+            throw new IllegalStateException("user.tenant.allowed is required when multi-tenancy is enabled");
+        }
+        for (String tenantId : allowedTenants) {
+            if (!TENANT_ID_PATTERN.matcher(tenantId).matches()) {
+                throw new IllegalStateException("Invalid tenant id in user.tenant.allowed: " + tenantId);
+            }
+        }
+        this.enabled = enabled;
+        this.gatewayToken = enabled ? gatewayToken.getBytes(StandardCharsets.UTF_8) : null;
+        this.allowedTenants = Set.copyOf(allowedTenants);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(USERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(TENANT_ID_HEADER);
+        if (!enabled) {
+            if (tenantId != null) {
+                reject(response, HttpStatus.BAD_REQUEST, "Multi-tenancy is not enabled");
+                return;
+            }
+            tenantId = TenantContext.DEFAULT_TENANT;
+        } else {
+            String presented = request.getHeader(GATEWAY_TOKEN_HEADER);
+            if (presented == null || !MessageDigest.isEqual(gatewayToken, presented.getBytes(StandardCharsets.UTF_8))) {
+                reject(response, HttpStatus.UNAUTHORIZED, "Tenant is not authenticated");
+                return;
+            }
+            if (tenantId == null || !TENANT_ID_PATTERN.matcher(tenantId).matches()) {
+                reject(response, HttpStatus.BAD_REQUEST, "Invalid " + TENANT_ID_HEADER + " header");
+                return;
+            }
+            if (!allowedTenants.contains(tenantId)) {
+                reject(response, HttpStatus.FORBIDDEN, "Unknown tenant");
+                return;
+            }
+        }
+
+        TenantContext.setTenantId(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
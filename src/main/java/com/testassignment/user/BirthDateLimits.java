@@ -0,0 +1,27 @@
+package com.testassignment.user;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Birth date bounds for one calendar day: {@code today} for the future-date check and the latest
+ * birth date that is still at least {@code minAge} years old. Valid until the next midnight of the clock's zone.
+ */
+record BirthDateLimits(LocalDate today, LocalDate latestAdultBirthDate, long validUntilMillis) {
+
+    static BirthDateLimits compute(Clock clock, int minAge) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate latestAdultBirthDate = today.minusYears(minAge);
+        // plusYears clamps Feb 29 to Feb 28, so the next day may still be old enough
+        if (!latestAdultBirthDate.plusDays(1).plusYears(minAge).isAfter(today)) {
+            latestAdultBirthDate = latestAdultBirthDate.plusDays(1);
+        }
+        long validUntilMillis = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+
+        return new BirthDateLimits(today, latestAdultBirthDate, validUntilMillis);
+    }
+
+    boolean isValidAt(long millis) {
+        return millis < validUntilMillis;
+    }
+}
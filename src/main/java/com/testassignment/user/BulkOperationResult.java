@@ -0,0 +1,4 @@
+package com.testassignment.user;
+
+public record BulkOperationResult(long affected) {
+}
@@ -1,18 +1,27 @@
 package com.testassignment.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
-
 @Entity
 @Table(name = "users")
+@SQLRestriction("deleted_at is null")
 public class User {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(generator = "user_id")
+    @GenericGenerator(name = "user_id", type = UserIdGenerator.class)
     private Long id;
-    @Column(unique = true, nullable = false)
+    @TenantId
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private String tenantId;
+    @Column(nullable = false)
     private String email;
     @Column(nullable = false)
     private String firstName;
@@ -22,6 +31,8 @@ public class User {
     private LocalDate birthDate;
     private String address;
     private String phoneNumber;
+    @JsonIgnore
+    private Instant deletedAt;
 
     public Long getId() {
         return id;
@@ -31,6 +42,14 @@ public class User {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -78,4 +97,12 @@ public class User {
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = phoneNumber;
     }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,15 @@
+package com.testassignment.user;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+@Validated
+public record UserBatchGetDto(@NotNull(message = "The 'ids' cannot be null")
+                              @NotEmpty(message = "The 'ids' cannot be empty")
+                              @Size(max = 1000, message = "The 'ids' cannot contain more than 1000 elements")
+                              List<@NotNull(message = "The 'ids' cannot contain null") Long> ids) {
+}
@@ -0,0 +1,15 @@
+package com.testassignment.user;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Validated
+public record UserBulkFilterDto(@Size(max = 100000, message = "The 'ids' cannot contain more than 100000 elements")
+                                List<@NotNull(message = "The 'ids' cannot contain null") Long> ids,
+                                LocalDate birthDateFrom,
+                                LocalDate birthDateTo) {
+}
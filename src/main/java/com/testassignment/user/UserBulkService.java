@@ -0,0 +1,120 @@
+package com.testassignment.user;
+
+import com.testassignment.exceptions.InvalidBulkRequestException;
+import com.testassignment.exceptions.InvalidDateRangeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+@Service
+public class UserBulkService {
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    @Value("${user.bulk.chunk-size}")
+    private int chunkSize;
+    @Value("${user.soft-delete.enabled}")
+    private boolean softDelete;
+
+    public UserBulkService(UserRepository userRepository, UserService userService,
+                           TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BulkOperationResult deleteUsers(UserBulkFilterDto filter) {
+        if (softDelete) {
+            Instant deletedAt = Instant.now();
+            return applyInChunks(filter, ids -> userRepository.softDeleteAllByIdIn(ids, deletedAt));
+        }
+        return applyInChunks(filter, userRepository::deleteAllByIdIn);
+    }
+
+    public BulkOperationResult updateUsers(UserBulkUpdateDto userBulkUpdateDto) {
+        UserUpdateDto changes = userBulkUpdateDto.changes();
+        if (changes.email() != null) {
+            throw new InvalidBulkRequestException("The 'email' cannot be changed in bulk");
+        }
+        if (changes.birthDate() != null) {
+            userService.validateBirthDate(changes.birthDate());
+        }
+
+        return applyInChunks(userBulkUpdateDto.filter(), ids -> userRepository.updateFieldsByIdIn(ids,
+                changes.firstName(), changes.lastName(), changes.birthDate(),
+                changes.address(), changes.phoneNumber()));
+    }
+
+    private BulkOperationResult applyInChunks(UserBulkFilterDto filter, ToIntFunction<List<Long>> operation) {
+        validateFilter(filter);
+
+        return filter.ids() != null
+                ? applyToIds(List.copyOf(new LinkedHashSet<>(filter.ids())), operation)
+                : applyToBirthDateRange(filter, operation);
+    }
+
+    private BulkOperationResult applyToIds(List<Long> ids, ToIntFunction<List<Long>> operation) {
+        long affected = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            affected += transactionTemplate.execute(status -> applyToChunk(operation, chunk));
+        }
+        return new BulkOperationResult(affected);
+    }
+
+    private BulkOperationResult applyToBirthDateRange(UserBulkFilterDto filter, ToIntFunction<List<Long>> operation) {
+        long affected = 0;
+        Long afterId = Long.MIN_VALUE;
+        while (true) {
+            Long lastId = afterId;
+            ChunkResult chunkResult = transactionTemplate.execute(status -> {
+                List<Long> chunk = userRepository.findIdsByBirthDateBetween(filter.birthDateFrom(),
+                        filter.birthDateTo(), lastId, PageRequest.ofSize(chunkSize));
+                if (chunk.isEmpty()) {
+                    return null;
+                }
+                return new ChunkResult(chunk.getLast(), applyToChunk(operation, chunk));
+            });
+            if (chunkResult == null) {
+                return new BulkOperationResult(affected);
+            }
+            affected += chunkResult.affected();
+            afterId = chunkResult.lastId();
+        }
+    }
+
+    private int applyToChunk(ToIntFunction<List<Long>> operation, List<Long> chunk) {
+        int affected = operation.applyAsInt(chunk);
+        eventPublisher.publishEvent(new UsersBulkChangedEvent(affected));
+        return affected;
+    }
+
+    private void validateFilter(UserBulkFilterDto filter) {
+        boolean hasIds = filter.ids() != null;
+        boolean hasRange = filter.birthDateFrom() != null || filter.birthDateTo() != null;
+
+        if (hasIds == hasRange) {
+            throw new InvalidBulkRequestException("Either 'ids' or a birth date range must be provided");
+        }
+        if (hasRange) {
+            if (filter.birthDateFrom() == null || filter.birthDateTo() == null) {
+                throw new InvalidBulkRequestException("Both 'birthDateFrom' and 'birthDateTo' must be provided");
+            }
+            if (filter.birthDateFrom().isAfter(filter.birthDateTo())) {
+                throw new InvalidDateRangeException("Start date cannot be after end date");
+            }
+        }
+    }
+
+    private record ChunkResult(Long lastId, int affected) {
+    }
+}
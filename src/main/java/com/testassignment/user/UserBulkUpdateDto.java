@@ -0,0 +1,14 @@
+package com.testassignment.user;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+public record UserBulkUpdateDto(@NotNull(message = "The 'filter' cannot be null")
+                                @Valid
+                                UserBulkFilterDto filter,
+                                @NotNull(message = "The 'changes' cannot be null")
+                                @Valid
+                                UserUpdateDto changes) {
+}
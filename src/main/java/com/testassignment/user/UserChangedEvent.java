@@ -0,0 +1,8 @@
+package com.testassignment.user;
+
+/**
+ * Published by {@link UserService} for every single-user write. {@code before} is {@code null} for creates,
+ * {@code after} is {@code null} for deletes.
+ */
+public record UserChangedEvent(UserSnapshot before, UserSnapshot after) {
+}
@@ -1,5 +1,6 @@
 package com.testassignment.user;
 
+import com.testassignment.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
@@ -10,25 +11,46 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/v1/users")
 public class UserController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final UserService userService;
+    private final UserBulkService userBulkService;
+    private final UserDtoValidator userDtoValidator;
+    private final IdempotencyService idempotencyService;
+    private final UserReadCoalescer userReadCoalescer;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserBulkService userBulkService,
+                          UserDtoValidator userDtoValidator, IdempotencyService idempotencyService,
+                          UserReadCoalescer userReadCoalescer) {
         this.userService = userService;
+        this.userBulkService = userBulkService;
+        this.userDtoValidator = userDtoValidator;
+        this.idempotencyService = idempotencyService;
+        this.userReadCoalescer = userReadCoalescer;
     }
 
     @PostMapping
-    public User createUser(@RequestBody @Valid UserCreateDto userCreateDto) {
-        return userService.createUser(userCreateDto);
+    public User createUser(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                           @RequestBody UserCreateDto userCreateDto) {
+        userDtoValidator.validate(userCreateDto);
+        return idempotencyService.execute(idempotencyKey, "POST /api/v1/users", userCreateDto, User.class,
+                () -> userService.createUser(userCreateDto));
     }
 
     @PutMapping("/{id}")
-    public User updateUser(@PathVariable Long id, @RequestBody @Valid UserCreateDto userCreateDto) {
-        return userService.updateAll(id, userCreateDto);
+    public User updateUser(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                           @PathVariable Long id, @RequestBody UserCreateDto userCreateDto) {
+        userDtoValidator.validate(userCreateDto);
+        return idempotencyService.execute(idempotencyKey, "PUT /api/v1/users/" + id, userCreateDto, User.class,
+                () -> userService.updateAll(id, userCreateDto));
     }
 
     @PatchMapping("/{id}")
-    public User updateUserFields(@PathVariable Long id, @RequestBody @Valid UserUpdateDto userUpdateDto) {
-        return userService.updateUserFields(id, userUpdateDto);
+    public User updateUserFields(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                 @PathVariable Long id, @RequestBody UserUpdateDto userUpdateDto) {
+        userDtoValidator.validate(userUpdateDto);
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/v1/users/" + id, userUpdateDto, User.class,
+                () -> userService.updateUserFields(id, userUpdateDto));
     }
 
     @DeleteMapping("/{id}")
@@ -41,6 +63,27 @@ public class UserController {
                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
                                                   @RequestParam
                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return userService.searchUsersByBirthDateRange(startDate, endDate);
+        return userReadCoalescer.searchUsersByBirthDateRange(startDate, endDate);
+    }
+
+    @PostMapping("/_mget")
+    public List<UserLookupResult> getUsersByIds(@RequestBody @Valid UserBatchGetDto userBatchGetDto) {
+        return userReadCoalescer.findUsersByIds(userBatchGetDto.ids());
+    }
+
+    @PatchMapping("/_bulk")
+    public BulkOperationResult updateUsers(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                           String idempotencyKey,
+                                           @RequestBody @Valid UserBulkUpdateDto userBulkUpdateDto) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/v1/users/_bulk", userBulkUpdateDto,
+                BulkOperationResult.class, () -> userBulkService.updateUsers(userBulkUpdateDto));
+    }
+
+    @PostMapping("/_bulk-delete")
+    public BulkOperationResult deleteUsers(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                           String idempotencyKey,
+                                           @RequestBody @Valid UserBulkFilterDto userBulkFilterDto) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/v1/users/_bulk-delete", userBulkFilterDto,
+                BulkOperationResult.class, () -> userBulkService.deleteUsers(userBulkFilterDto));
     }
 }
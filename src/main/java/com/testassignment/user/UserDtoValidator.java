@@ -0,0 +1,89 @@
+package com.testassignment.user;
+
+import com.testassignment.exceptions.UserValidationException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hand-written equivalent of the Bean Validation constraints declared on {@link UserCreateDto} and
+ * {@link UserUpdateDto}. Produces the same field errors Hibernate Validator would, without reflection
+ * or regex matching. When a value breaks several constraints of one field, the first failing check in
+ * declaration order wins.
+ */
+@Component
+public class UserDtoValidator {
+    static final String EMAIL_REGEXP = "^([^ ]+@[^ ]+\\.[a-z]{2,6}|)$";
+    static final String EMAIL_PATTERN_MESSAGE = "must match \"" + EMAIL_REGEXP + "\"";
+
+    private static final int MIN_DOMAIN_SUFFIX = 2;
+    private static final int MAX_DOMAIN_SUFFIX = 6;
+
+    public void validate(UserCreateDto userCreateDto) {
+        Map<String, String> errors = null;
+        errors = requireNotBlank(errors, "email", userCreateDto.email());
+        if (!isEmail(userCreateDto.email())) {
+            errors = addError(errors, "email", EMAIL_PATTERN_MESSAGE);
+        }
+        errors = requireNotBlank(errors, "firstName", userCreateDto.firstName());
+        errors = requireNotBlank(errors, "lastName", userCreateDto.lastName());
+        if (userCreateDto.birthDate() == null) {
+            errors = addError(errors, "birthDate", "The 'birthDate' cannot be null");
+        }
+        throwIfInvalid(errors);
+    }
+
+    public void validate(UserUpdateDto userUpdateDto) {
+        if (!isEmail(userUpdateDto.email())) {
+            throwIfInvalid(addError(null, "email", EMAIL_PATTERN_MESSAGE));
+        }
+    }
+
+    static boolean isEmail(String value) {
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        if (value.indexOf(' ') >= 0) {
+            return false;
+        }
+
+        int length = value.length();
+        for (int letters = 0; letters <= MAX_DOMAIN_SUFFIX && letters < length; letters++) {
+            char c = value.charAt(length - letters - 1);
+            if (c == '.') {
+                int dot = length - letters - 1;
+                int at = value.indexOf('@', 1);
+                return letters >= MIN_DOMAIN_SUFFIX && at >= 1 && at <= dot - 2;
+            }
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> requireNotBlank(Map<String, String> errors, String field, String value) {
+        if (value == null) {
+            return addError(errors, field, "The '" + field + "' cannot be null");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return errors;
+            }
+        }
+        return addError(errors, field, "The '" + field + "' cannot be empty");
+    }
+
+    private static Map<String, String> addError(Map<String, String> errors, String field, String message) {
+        Map<String, String> result = errors == null ? new HashMap<>() : errors;
+        result.putIfAbsent(field, message);
+        return result;
+    }
+
+    private static void throwIfInvalid(Map<String, String> errors) {
+        if (errors != null) {
+            throw new UserValidationException(errors);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.testassignment.user;
+
+public record UserLookupResult(Long id, boolean found, User user) {
+    public static UserLookupResult found(User user) {
+        return new UserLookupResult(user.getId(), true, user);
+    }
+
+    public static UserLookupResult notFound(Long id) {
+        return new UserLookupResult(id, false, null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.testassignment.user;
+
+import com.testassignment.concurrent.SingleFlight;
+import com.testassignment.datasource.ReadYourWritesTracker;
+import com.testassignment.tenant.TenantContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Read path in front of {@link UserService}: concurrent identical searches and lookups of the same user ids
+ * share one database query, and search results are kept for {@code user.read.search-cache-ttl} until a write
+ * touches their birth date range. All keys include the tenant, so tenants never share flights or cached results.
+ * <p>
+ * The cache holds at most {@code user.read.search-cache-max-entries} searches and expired ones are swept on a
+ * schedule. With a read replica, clients pinned to the primary by {@link ReadYourWritesTracker} bypass both the
+ * cache and the shared flights, and searches starting within the replica lag window after a write are not cached.
+ */
+@Component
+public class UserReadCoalescer {
+    private final UserService userService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long searchCacheTtlNanos;
+    private final int searchCacheMaxEntries;
+    private final long replicaLagNanos;
+    private final SingleFlight<SearchKey, List<User>> searches = new SingleFlight<>();
+    private final SingleFlight<TenantUserId, User> lookups = new SingleFlight<>();
+    private final Map<SearchKey, CachedSearch> searchCache = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile long lastInvalidationNanos = System.nanoTime();
+
+    public UserReadCoalescer(UserService userService,
+                             ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                             @Value("${user.read.search-cache-ttl}") Duration searchCacheTtl,
+                             @Value("${user.read.search-cache-max-entries}") int searchCacheMaxEntries) {
+        this.userService = userService;
+        this.readYourWritesTracker = readYourWritesTracker.getIfAvailable();
+        this.searchCacheTtlNanos = searchCacheTtl.toNanos();
+        this.searchCacheMaxEntries = searchCacheMaxEntries;
+        this.replicaLagNanos = this.readYourWritesTracker != null ? this.readYourWritesTracker.window().toNanos() : 0;
+        this.lastInvalidationNanos -= replicaLagNanos;
+    }
+
+    public List<User> searchUsersByBirthDateRange(LocalDate startDate, LocalDate endDate) {
+        if (isPinnedToPrimary()) {
+            return userService.searchUsersByBirthDateRange(startDate, endDate);
+        }
+        SearchKey key = new SearchKey(TenantContext.getTenantId(), startDate, endDate);
+        CachedSearch cached = searchCache.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            return cached.users();
+        }
+
+        return searches.execute(key, () -> {
+            long generation = invalidations.get();
+            long startedAt = System.nanoTime();
+            List<User> users = userService.searchUsersByBirthDateRange(startDate, endDate);
+            if (isCacheable(generation, startedAt)) {
+                searchCache.put(key, new CachedSearch(users, System.nanoTime() + searchCacheTtlNanos));
+            }
+            return users;
+        });
+    }
+
+    public List<UserLookupResult> findUsersByIds(List<Long> ids) {
+        if (isPinnedToPrimary()) {
+            return userService.findUsersByIds(ids);
+        }
+        String tenantId = TenantContext.getTenantId();
+        List<TenantUserId> keys = ids.stream().map(id -> new TenantUserId(tenantId, id)).toList();
+        Map<TenantUserId, User> usersById = lookups.executeAll(keys, missingKeys ->
+                userService.findUsersByIds(missingKeys.stream().map(TenantUserId::id).toList())
+                        .stream()
+                        .filter(UserLookupResult::found)
+                        .collect(Collectors.toMap(result -> new TenantUserId(tenantId, result.id()),
+                                UserLookupResult::user)));
+
+        return keys.stream()
+                .map(key -> usersById.get(key) != null
+                        ? UserLookupResult.found(usersById.get(key))
+                        : UserLookupResult.notFound(key.id()))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${user.read.search-cache-sweep-interval}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        searchCache.values().removeIf(cached -> !cached.isFresh(now));
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        String tenantId = TenantContext.getTenantId();
+        invalidate();
+        searchCache.keySet().removeIf(key -> key.tenantId().equals(tenantId)
+                && (key.contains(event.before()) || key.contains(event.after())));
+    }
+
+    @TransactionalEventListener
+    public void onUsersBulkChanged(UsersBulkChangedEvent event) {
+        String tenantId = TenantContext.getTenantId();
+        invalidate();
+        searchCache.keySet().removeIf(key -> key.tenantId().equals(tenantId));
+    }
+
+    private boolean isPinnedToPrimary() {
+        return readYourWritesTracker != null && readYourWritesTracker.isPinnedToPrimary();
+    }
+
+    private boolean isCacheable(long generation, long startedAt) {
+        // a replica may not have the last write yet, so results read right after it are not kept
+        return searchCacheTtlNanos > 0
+                && invalidations.get() == generation
+                && startedAt - lastInvalidationNanos >= replicaLagNanos
+                && searchCache.size() < searchCacheMaxEntries;
+    }
+
+    private void invalidate() {
+        lastInvalidationNanos = System.nanoTime();
+        invalidations.incrementAndGet();
+    }
+
+    private record SearchKey(String tenantId, LocalDate startDate, LocalDate endDate) {
+        boolean contains(UserSnapshot user) {
+            return user != null
+                    && !user.birthDate().isBefore(startDate)
+                    && !user.birthDate().isAfter(endDate);
+        }
+    }
+
+    private record TenantUserId(String tenantId, Long id) {
+    }
+
+    private record CachedSearch(List<User> users, long expiresAtNanos) {
+        boolean isFresh(long nowNanos) {
+            return nowNanos - expiresAtNanos < 0;
+        }
+    }
+}
@@ -1,13 +1,65 @@
 package com.testassignment.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>{
+    // Loading by primary key bypasses Hibernate's @TenantId filter, a query does not
+    @Override
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findById(Long id);
+
     boolean existsByEmail(String email);
     List<User> findByBirthDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            select u.id from User u
+            where u.birthDate between :startDate and :endDate and u.id > :afterId
+            order by u.id""")
+    List<Long> findIdsByBirthDateBetween(LocalDate startDate, LocalDate endDate, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            update User u set
+                u.firstName = coalesce(:firstName, u.firstName),
+                u.lastName = coalesce(:lastName, u.lastName),
+                u.birthDate = coalesce(:birthDate, u.birthDate),
+                u.address = coalesce(:address, u.address),
+                u.phoneNumber = coalesce(:phoneNumber, u.phoneNumber)
+            where u.id in :ids and u.deletedAt is null""")
+    int updateFieldsByIdIn(Collection<Long> ids, String firstName, String lastName, LocalDate birthDate,
+                           String address, String phoneNumber);
+
+    @Modifying
+    @Query("update User u set u.deletedAt = :deletedAt where u.id = :id and u.deletedAt is null")
+    int softDeleteById(Long id, Instant deletedAt);
+
+    @Modifying
+    @Query("update User u set u.deletedAt = :deletedAt where u.id in :ids and u.deletedAt is null")
+    int softDeleteAllByIdIn(Collection<Long> ids, Instant deletedAt);
+
+    @Query(value = """
+            select id from users
+            where deleted_at < :deletedBefore
+            order by deleted_at
+            limit :limit""", nativeQuery = true)
+    List<Long> findTombstoneIds(Instant deletedBefore, int limit);
+
+    @Modifying
+    @Query(value = "delete from users where id in :ids and deleted_at is not null", nativeQuery = true)
+    int purgeTombstones(Collection<Long> ids);
 }
@@ -1,21 +1,35 @@
 package com.testassignment.user;
 
 import com.testassignment.exceptions.*;
-import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     @Value("${user.min-age}")
     private int minAge;
+    @Value("${user.soft-delete.enabled}")
+    private boolean softDelete;
+    private Clock clock = Clock.systemDefaultZone();
+    private volatile BirthDateLimits birthDateLimits;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -24,7 +38,9 @@ public class UserService {
 
         User user = new User();
         setUserData(user, userCreateDto);
-        return userRepository.save(user);
+        User savedUser = saveUser(user);
+        eventPublisher.publishEvent(new UserChangedEvent(null, UserSnapshot.of(savedUser)));
+        return savedUser;
     }
 
     @Transactional
@@ -32,14 +48,18 @@ public class UserService {
         validatedUserDto(userCreateDto);
         User user = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException(String.format("User with id %d not found", id)));
+        UserSnapshot before = UserSnapshot.of(user);
         setUserData(user, userCreateDto);
-        return userRepository.save(user);
+        User savedUser = saveUser(user);
+        eventPublisher.publishEvent(new UserChangedEvent(before, UserSnapshot.of(savedUser)));
+        return savedUser;
     }
 
     @Transactional
     public User updateUserFields(Long id, UserUpdateDto userUpdateDto) {
         User user = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException(String.format("User with id %d not found", id)));
+        UserSnapshot before = UserSnapshot.of(user);
 
         if (userUpdateDto.email() != null) {
             validateEmail(userUpdateDto.email());
@@ -62,7 +82,9 @@ public class UserService {
             user.setPhoneNumber(userUpdateDto.phoneNumber());
         }
 
-        return userRepository.save(user);
+        User savedUser = saveUser(user);
+        eventPublisher.publishEvent(new UserChangedEvent(before, UserSnapshot.of(savedUser)));
+        return savedUser;
     }
 
 
@@ -70,9 +92,15 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException(String.format("User with id %d not found", id)));
-        userRepository.delete(user);
+        if (!softDelete) {
+            userRepository.delete(user);
+        } else if (userRepository.softDeleteById(id, clock.instant()) == 0) {
+            throw new UserNotFoundException(String.format("User with id %d not found", id));
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(UserSnapshot.of(user), null));
     }
 
+    @Transactional(readOnly = true)
     public List<User> searchUsersByBirthDateRange(LocalDate startDate, LocalDate endDate) {
         if (startDate.isAfter(endDate)) {
             throw new InvalidDateRangeException("Start date cannot be after end date");
@@ -81,6 +109,35 @@ public class UserService {
         return userRepository.findByBirthDateBetween(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public List<UserLookupResult> findUsersByIds(List<Long> ids) {
+        Map<Long, User> usersById = userRepository.findAllById(new LinkedHashSet<>(ids))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> usersById.containsKey(id)
+                        ? UserLookupResult.found(usersById.get(id))
+                        : UserLookupResult.notFound(id))
+                .toList();
+    }
+
+    // existsByEmail does not stop two concurrent writers, the unique email index does
+    private User saveUser(User user) {
+        User savedUser = userRepository.save(user);
+        try {
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains("email")) {
+                throw new DuplicatedEmailException("Email already exists");
+            }
+            throw e;
+        }
+        return savedUser;
+    }
+
     private void setUserData(User user, UserCreateDto userCreateDto) {
         user.setEmail(userCreateDto.email());
         user.setFirstName(userCreateDto.firstName());
@@ -101,11 +158,21 @@ public class UserService {
         }
     }
 
-    private void validateBirthDate(LocalDate birthDate) {
-        if (birthDate.isAfter(java.time.LocalDate.now())) {
+    void validateBirthDate(LocalDate birthDate) {
+        BirthDateLimits limits = currentBirthDateLimits();
+        if (birthDate.isAfter(limits.today())) {
             throw new FutureBirthDateException("Birth date cannot be in the future");
-        } else if (birthDate.plusYears(minAge).isAfter(java.time.LocalDate.now())) {
+        } else if (birthDate.isAfter(limits.latestAdultBirthDate())) {
             throw new UserUnderageException("User must be at least " + minAge + " years old");
         }
     }
+
+    private BirthDateLimits currentBirthDateLimits() {
+        BirthDateLimits limits = birthDateLimits;
+        if (limits == null || !limits.isValidAt(clock.millis())) {
+            limits = BirthDateLimits.compute(clock, minAge);
+            birthDateLimits = limits;
+        }
+        return limits;
+    }
 }
@@ -0,0 +1,16 @@
+package com.testassignment.user;
+
+import java.time.LocalDate;
+
+public record UserSnapshot(Long id,
+                           String email,
+                           String firstName,
+                           String lastName,
+                           LocalDate birthDate,
+                           String address,
+                           String phoneNumber) {
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getBirthDate(), user.getAddress(), user.getPhoneNumber());
+    }
+}
@@ -0,0 +1,65 @@
+package com.testassignment.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hard-deletes soft-deleted users in small batches, pausing between batches and stopping after
+ * {@code user.soft-delete.compaction.max-duration} so a run stays inside its off-peak window.
+ */
+@Component
+@ConditionalOnProperty(name = "user.soft-delete.enabled", havingValue = "true")
+public class UserTombstoneCompactor {
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${user.soft-delete.compaction.grace-period}")
+    private Duration gracePeriod;
+    @Value("${user.soft-delete.compaction.batch-size}")
+    private int batchSize;
+    @Value("${user.soft-delete.compaction.pause}")
+    private Duration pause;
+    @Value("${user.soft-delete.compaction.max-duration}")
+    private Duration maxDuration;
+    private Clock clock = Clock.systemUTC();
+
+    public UserTombstoneCompactor(UserRepository userRepository, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${user.soft-delete.compaction.cron}")
+    public void compactTombstones() {
+        compact();
+    }
+
+    long compact() {
+        Instant deletedBefore = clock.instant().minus(gracePeriod);
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long purged = 0;
+
+        while (true) {
+            List<Long> ids = userRepository.findTombstoneIds(deletedBefore, batchSize);
+            if (ids.isEmpty()) {
+                return purged;
+            }
+            purged += transactionTemplate.execute(status -> userRepository.purgeTombstones(ids));
+            if (ids.size() < batchSize || System.nanoTime() - deadline >= 0) {
+                return purged;
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return purged;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.testassignment.user;
+
+/**
+ * Published by {@link UserBulkService} after each committed chunk of a bulk update or delete.
+ */
+public record UsersBulkChangedEvent(long affected) {
+}
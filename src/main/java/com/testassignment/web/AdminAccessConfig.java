@@ -0,0 +1,14 @@
+package com.testassignment.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdminAccessConfig {
+
+    @Bean
+    public AdminAccessFilter adminAccessFilter(@Value("${user.admin.token}") String token) {
+        return new AdminAccessFilter(token);
+    }
+}
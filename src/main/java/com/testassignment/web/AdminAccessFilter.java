@@ -0,0 +1,54 @@
+package com.testassignment.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards {@value #ADMIN_PATH} endpoints with the shared {@code user.admin.token}, sent in the
+ * {@value #ADMIN_TOKEN_HEADER} header. Without a configured token the admin endpoints are closed.
+ */
+public class AdminAccessFilter extends OncePerRequestFilter implements Ordered {
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private static final String ADMIN_PATH = "/api/v1/admin";
+
+    private final byte[] token;
+
+    public AdminAccessFilter(String token) {
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ADMIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(ADMIN_TOKEN_HEADER);
+        if (token == null || presented == null
+                || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Admin access denied\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,22 @@
+package com.testassignment.web;
+
+import com.testassignment.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ClientKeyResolver {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    public String resolve(HttpServletRequest request) {
+        return TenantContext.getTenantId() + "/" + resolveClient(request);
+    }
+
+    private String resolveClient(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId != null && !clientId.isBlank()) {
+            return clientId;
+        }
+        return request.getRemoteAddr();
+    }
+}
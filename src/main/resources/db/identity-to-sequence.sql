@@ -0,0 +1,12 @@
+-- Moves an existing users table from IDENTITY/serial ids to the users_seq
+-- sequence used by UserIdGenerator. The increment must match
+-- spring.jpa.properties.user.id.allocation-size.
+begin;
+
+alter table users alter column id drop identity if exists;
+alter table users alter column id drop default;
+
+create sequence if not exists users_seq increment by 50;
+select setval('users_seq', coalesce((select max(id) from users), 0) + 1, false);
+
+commit;
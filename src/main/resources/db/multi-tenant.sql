@@ -0,0 +1,18 @@
+-- Moves existing users and user_history tables of the default profile to tenant-scoped storage. Existing rows
+-- become tenant 'default', which is the tenant of every request while user.tenant.enabled is false.
+-- The partitioned profile must not run this script: concurrent index builds fail on partitioned tables, and
+-- db/partitioned/schema.sql and db/partitioned/user-history.sql already migrate those tables on startup.
+alter table users add column if not exists tenant_id varchar(255) not null default 'default';
+alter table users alter column tenant_id drop default;
+alter table user_history add column if not exists tenant_id varchar(255) not null default 'default';
+alter table user_history alter column tenant_id drop default;
+
+create unique index concurrently if not exists users_tenant_email_active_idx on users (tenant_id, email)
+    where deleted_at is null;
+create index concurrently if not exists users_tenant_birth_date_active_idx on users (tenant_id, birth_date)
+    where deleted_at is null;
+create index concurrently if not exists user_history_tenant_user_id_changed_at_idx
+    on user_history (tenant_id, user_id, changed_at);
+
+drop index concurrently if exists users_email_active_idx;
+drop index concurrently if exists users_birth_date_active_idx;
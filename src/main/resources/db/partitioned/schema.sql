@@ -0,0 +1,105 @@
+create sequence if not exists users_seq increment by 50@@
+
+create table if not exists users
+(
+    id           bigint       not null,
+    tenant_id    varchar(255) not null,
+    email        varchar(255) not null,
+    first_name   varchar(255) not null,
+    last_name    varchar(255) not null,
+    birth_date   date         not null,
+    address      varchar(255),
+    phone_number varchar(255),
+    deleted_at   timestamp(6) with time zone,
+    primary key (id, birth_date)
+) partition by range (birth_date)@@
+
+alter table users add column if not exists deleted_at timestamp(6) with time zone@@
+
+alter table users add column if not exists tenant_id varchar(255) not null default 'default'@@
+
+alter table users alter column tenant_id drop default@@
+
+do $$
+    declare
+        decade int;
+    begin
+        for decade in 1900..(extract(year from current_date)::int / 10 * 10) by 10
+            loop
+                execute format('create table if not exists users_%ss partition of users '
+                                   || 'for values from (%L) to (%L)',
+                               decade, make_date(decade, 1, 1), make_date(decade + 10, 1, 1));
+            end loop;
+    end
+$$@@
+
+create table if not exists users_default partition of users default@@
+
+drop index if exists users_birth_date_idx@@
+
+drop index if exists users_email_idx@@
+
+drop index if exists users_birth_date_active_idx@@
+
+drop index if exists users_email_active_idx@@
+
+create index if not exists users_tenant_birth_date_active_idx on users (tenant_id, birth_date)
+    where deleted_at is null@@
+
+create index if not exists users_tenant_email_active_idx on users (tenant_id, email) where deleted_at is null@@
+
+create index if not exists users_deleted_at_idx on users (deleted_at) where deleted_at is not null@@
+
+create table if not exists user_emails
+(
+    tenant_id varchar(255) not null,
+    email     varchar(255) not null,
+    user_id   bigint       not null,
+    primary key (tenant_id, email)
+)@@
+
+-- Tables created before tenants existed are rekeyed by (tenant_id, email) once
+do $$
+    begin
+        if not exists(select 1
+                      from information_schema.columns
+                      where table_schema = current_schema()
+                        and table_name = 'user_emails'
+                        and column_name = 'tenant_id') then
+            alter table user_emails add column tenant_id varchar(255) not null default 'default';
+            alter table user_emails alter column tenant_id drop default;
+            alter table user_emails drop constraint if exists user_emails_pkey;
+            alter table user_emails add primary key (tenant_id, email);
+        end if;
+    end
+$$@@
+
+create or replace function users_sync_email() returns trigger
+    language plpgsql as
+$$
+begin
+    -- Hibernate rewrites every column on update, so skip rows whose key did not actually change
+    if tg_op = 'UPDATE' and old.email is not distinct from new.email
+        and old.deleted_at is not distinct from new.deleted_at
+        and old.tenant_id is not distinct from new.tenant_id then
+        return null;
+    end if;
+    if tg_op in ('UPDATE', 'DELETE') then
+        delete from user_emails where tenant_id = old.tenant_id and email = old.email and user_id = old.id;
+    end if;
+    if tg_op in ('UPDATE', 'INSERT') then
+        if new.deleted_at is null then
+            insert into user_emails (tenant_id, email, user_id) values (new.tenant_id, new.email, new.id);
+        end if;
+    end if;
+    return null;
+end
+$$@@
+
+drop trigger if exists users_sync_email on users@@
+
+create trigger users_sync_email
+    after insert or update of tenant_id, email, deleted_at or delete
+    on users
+    for each row
+execute function users_sync_email()@@
@@ -0,0 +1,84 @@
+create sequence if not exists user_history_seq increment by 50@@
+
+create table if not exists user_history
+(
+    id           bigint                      not null,
+    tenant_id    varchar(255)                not null,
+    user_id      bigint                      not null,
+    change_type  varchar(255)                not null,
+    changed_at   timestamp(6) with time zone not null,
+    changes      text                        not null,
+    email        varchar(255),
+    first_name   varchar(255),
+    last_name    varchar(255),
+    birth_date   date,
+    address      varchar(255),
+    phone_number varchar(255),
+    primary key (id, changed_at)
+) partition by range (changed_at)@@
+
+alter table user_history add column if not exists tenant_id varchar(255) not null default 'default'@@
+
+alter table user_history alter column tenant_id drop default@@
+
+drop index if exists user_history_user_id_changed_at_idx@@
+
+create index if not exists user_history_tenant_user_id_changed_at_idx
+    on user_history (tenant_id, user_id, changed_at)@@
+
+create sequence if not exists user_history_outbox_seq increment by 50@@
+
+create table if not exists user_history_outbox
+(
+    id               bigint                      not null primary key,
+    tenant_id        varchar(255)                not null,
+    changed_at       timestamp(6) with time zone not null,
+    payload          text                        not null,
+    attempts         integer                     not null,
+    last_error       varchar(1000),
+    dead_lettered_at timestamp(6) with time zone
+)@@
+
+-- Monthly partitions are created ahead of time by UserHistoryPartitionMaintenance. There is no default
+-- partition on purpose: it would make creating a partition for rows that already landed in it fail.
+create or replace function user_history_create_partitions(months_ahead int) returns void
+    language plpgsql as
+$$
+declare
+    month date;
+begin
+    for month in
+        select generate_series(date_trunc('month', current_date),
+                               date_trunc('month', current_date) + make_interval(months => months_ahead),
+                               interval '1 month')::date
+        loop
+            execute format('create table if not exists user_history_%s partition of user_history '
+                               || 'for values from (%L) to (%L)',
+                           to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+        end loop;
+end
+$$@@
+
+-- Retention is a metadata-only drop of whole monthly partitions instead of a large delete.
+create or replace function user_history_drop_partitions(retention_months int) returns void
+    language plpgsql as
+$$
+declare
+    expired record;
+begin
+    for expired in
+        select child.relname
+        from pg_inherits
+                 join pg_class parent on parent.oid = pg_inherits.inhparent
+                 join pg_class child on child.oid = pg_inherits.inhrelid
+        where parent.relname = 'user_history'
+          and child.relname ~ '^user_history_\d{6}$'
+          and to_date(right(child.relname, 6), 'YYYYMM')
+            < date_trunc('month', current_date) - make_interval(months => retention_months)
+        loop
+            execute format('drop table %I', expired.relname);
+        end loop;
+end
+$$@@
+
+select user_history_create_partitions(3)@@
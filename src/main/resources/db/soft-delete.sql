@@ -0,0 +1,27 @@
+-- Prepares an existing (non-partitioned) users table for user.soft-delete.enabled=true.
+-- Email uniqueness and the birth_date index only cover rows that are not soft-deleted,
+-- so a deleted user's email can be registered again before the tombstone is compacted.
+alter table users add column if not exists deleted_at timestamp(6) with time zone;
+
+create unique index concurrently if not exists users_email_active_idx on users (email) where deleted_at is null;
+create index concurrently if not exists users_birth_date_active_idx on users (birth_date) where deleted_at is null;
+create index concurrently if not exists users_deleted_at_idx on users (deleted_at) where deleted_at is not null;
+
+do
+$$
+    declare
+        constraint_name text;
+    begin
+        for constraint_name in
+            select con.conname
+            from pg_constraint con
+                     join pg_attribute att on att.attrelid = con.conrelid and att.attnum = any (con.conkey)
+            where con.conrelid = 'users'::regclass
+              and con.contype = 'u'
+              and att.attname = 'email'
+              and array_length(con.conkey, 1) = 1
+            loop
+                execute format('alter table users drop constraint %I', constraint_name);
+            end loop;
+    end
+$$;
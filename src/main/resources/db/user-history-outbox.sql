@@ -0,0 +1,14 @@
+-- Adds the outbox that user changes are recorded in before UserHistoryOutboxRelay copies them to
+-- user_history. The partitioned profile creates it in db/partitioned/user-history.sql.
+create sequence if not exists user_history_outbox_seq increment by 50;
+
+create table if not exists user_history_outbox
+(
+    id               bigint                      not null primary key,
+    tenant_id        varchar(255)                not null,
+    changed_at       timestamp(6) with time zone not null,
+    payload          text                        not null,
+    attempts         integer                     not null,
+    last_error       varchar(1000),
+    dead_lettered_at timestamp(6) with time zone
+);
@@ -0,0 +1,9 @@
+-- Email uniqueness for the default (non-partitioned) users table. Only rows that are not soft-deleted are
+-- covered, so a deleted user's email can be registered again. Hibernate creates this index from import.sql
+-- under ddl-auto=create/create-drop only; apply this script for any other schema setup. The partitioned
+-- profile enforces uniqueness through the user_emails table in db/partitioned/schema.sql instead.
+-- Databases created before tenants existed need db/multi-tenant.sql first.
+alter table users add column if not exists deleted_at timestamp(6) with time zone;
+
+create unique index concurrently if not exists users_tenant_email_active_idx on users (tenant_id, email)
+    where deleted_at is null;
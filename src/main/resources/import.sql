@@ -0,0 +1,5 @@
+-- Keep in sync with db/users-email-unique.sql, which creates the email index outside ddl-auto=create
+create unique index users_tenant_email_active_idx on users (tenant_id, email) where deleted_at is null;
+create index users_tenant_birth_date_active_idx on users (tenant_id, birth_date) where deleted_at is null;
+create index users_deleted_at_idx on users (deleted_at) where deleted_at is not null;
+create index user_history_tenant_user_id_changed_at_idx on user_history (tenant_id, user_id, changed_at);
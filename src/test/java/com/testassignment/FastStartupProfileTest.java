@@ -0,0 +1,40 @@
+package com.testassignment;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Under lazy initialization only beans whose declared type has {@code @Scheduled} methods are created eagerly, so a
+ * job behind an interface-typed {@code @Bean} method would silently never run.
+ */
+@SpringBootTest(properties = {"user.soft-delete.enabled=true", "user.idempotency.store=jpa"})
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+	@Autowired
+	private ScheduledTaskHolder scheduledTaskHolder;
+
+	@Test
+	void scheduledJobsRunUnderLazyInitialization() {
+		List<String> tasks = scheduledTaskHolder.getScheduledTasks().stream()
+				.map(task -> task.getTask().getRunnable().toString())
+				.toList();
+
+		for (String job : new String[]{
+				"com.testassignment.history.UserHistoryOutboxRelay.relay",
+				"com.testassignment.user.UserTombstoneCompactor.compactTombstones",
+				"com.testassignment.user.UserReadCoalescer.evictExpired",
+				"com.testassignment.idempotency.JpaIdempotencyStore.purgeExpired",
+				"com.testassignment.admission.ClientRateLimiter.evictIdle"}) {
+			assertTrue(tasks.contains(job), job + " is not scheduled: " + tasks);
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.testassignment.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long TARGET_LATENCY = 100_000_000L;
+
+    @Test
+    void rejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET_LATENCY);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    void growsLimitWhileLatencyIsLow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET_LATENCY);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        limiter.release(TARGET_LATENCY / 10);
+
+        assertEquals(3, limiter.limit());
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    void shrinksLimitWhenLatencyClimbs() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 20, TARGET_LATENCY);
+        limiter.tryAcquire();
+
+        limiter.release(TARGET_LATENCY * 10);
+
+        assertEquals(9, limiter.limit());
+    }
+
+    @Test
+    void neverShrinksBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 5, 20, TARGET_LATENCY);
+        limiter.tryAcquire();
+
+        limiter.release(TARGET_LATENCY * 10);
+
+        assertEquals(5, limiter.limit());
+    }
+}
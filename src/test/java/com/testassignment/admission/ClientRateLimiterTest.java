@@ -0,0 +1,35 @@
+package com.testassignment.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientRateLimiterTest {
+
+    @Test
+    void clientsOverTheCapShareOneBucket() {
+        ClientRateLimiter limiter = new ClientRateLimiter(2, 0.001, 1);
+        assertTrue(limiter.tryAcquire("a", 1));
+
+        assertTrue(limiter.tryAcquire("b", 1));
+        assertTrue(limiter.tryAcquire("c", 1));
+        assertFalse(limiter.tryAcquire("d", 1));
+        assertTrue(limiter.tryAcquire("a", 1));
+        assertEquals(1, limiter.trackedClients());
+    }
+
+    @Test
+    void sweepRemovesOnlyIdleClients() {
+        ClientRateLimiter limiter = new ClientRateLimiter(2, 0.001, 10);
+        limiter.tryAcquire("busy", 1);
+        limiter.tryAcquire("idle", 0);
+
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.trackedClients());
+        assertTrue(limiter.tryAcquire("new", 1));
+        assertEquals(2, limiter.trackedClients());
+    }
+}
@@ -0,0 +1,82 @@
+package com.testassignment.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantConcurrencyLimiterTest {
+
+    @Test
+    void tenantAloneUsesWholeLimit() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1.0, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("big", 4));
+        }
+        assertFalse(limiter.tryAcquire("big", 4));
+    }
+
+    @Test
+    void capsTenantToFairShareWhileOthersWait() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1.0, Duration.ofMinutes(1));
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertTrue(limiter.tryAcquire("big", 4));
+
+        assertTrue(limiter.tryAcquire("small", 4));
+        assertFalse(limiter.tryAcquire("big", 4));
+
+        limiter.release("big");
+        limiter.release("big");
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertFalse(limiter.tryAcquire("big", 4));
+    }
+
+    @Test
+    void releasesFairShareAfterDemandWindow() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1.0, Duration.ZERO);
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertTrue(limiter.tryAcquire("small", 4));
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertFalse(limiter.tryAcquire("big", 4));
+
+        limiter.release("small");
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertFalse(limiter.tryAcquire("big", 4));
+    }
+
+    @Test
+    void maxShareCapsTenantAlone() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(0.5, Duration.ofMinutes(1));
+
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertTrue(limiter.tryAcquire("big", 4));
+        assertFalse(limiter.tryAcquire("big", 4));
+    }
+
+    @Test
+    void allowsAtLeastOneRequest() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(0.5, Duration.ofMinutes(1));
+
+        assertTrue(limiter.tryAcquire("tenant", 1));
+        assertFalse(limiter.tryAcquire("tenant", 1));
+    }
+
+    @Test
+    void countsOnlyTenantsWithRequestsInFlight() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1.0, Duration.ofMinutes(1));
+        limiter.tryAcquire("a", 4);
+        limiter.tryAcquire("a", 4);
+        limiter.tryAcquire("b", 4);
+
+        limiter.release("a");
+        assertEquals(2, limiter.activeTenants());
+
+        limiter.release("a");
+        limiter.release("b");
+        assertEquals(0, limiter.activeTenants());
+    }
+}
@@ -0,0 +1,45 @@
+package com.testassignment.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void consumesUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertTrue(bucket.tryConsume(4, 0));
+        assertTrue(bucket.tryConsume(6, 0));
+        assertFalse(bucket.tryConsume(1, 0));
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        assertTrue(bucket.tryConsume(10, 0));
+
+        assertFalse(bucket.tryConsume(3, SECOND));
+        assertTrue(bucket.tryConsume(3, 2 * SECOND));
+    }
+
+    @Test
+    void doesNotRefillBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 100, 0);
+
+        assertFalse(bucket.tryConsume(11, 60 * SECOND));
+        assertTrue(bucket.isIdle(60 * SECOND));
+    }
+
+    @Test
+    void ignoresClockGoingBackwards() {
+        TokenBucket bucket = new TokenBucket(10, 1, SECOND);
+        assertTrue(bucket.tryConsume(10, SECOND));
+
+        assertFalse(bucket.tryConsume(1, 0));
+        assertFalse(bucket.isIdle(SECOND));
+    }
+}
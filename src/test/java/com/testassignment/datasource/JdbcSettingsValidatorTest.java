@@ -0,0 +1,99 @@
+package com.testassignment.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JdbcSettingsValidatorTest {
+
+    @Test
+    void highThroughputProfileIsConsistent() throws IOException {
+        MockEnvironment environment = new MockEnvironment();
+        environment.getPropertySources().addLast(
+                new ResourcePropertySource(new ClassPathResource("application-high-throughput.properties")));
+        environment.getPropertySources().addLast(
+                new ResourcePropertySource(new ClassPathResource("application.properties")));
+
+        assertEquals(List.of(), new JdbcSettingsValidator(environment).validate());
+    }
+
+    @Test
+    void stockConfigurationIsConsistent() throws IOException {
+        MockEnvironment environment = new MockEnvironment();
+        environment.getPropertySources().addLast(
+                new ResourcePropertySource(new ClassPathResource("application.properties")));
+
+        assertEquals(List.of(), new JdbcSettingsValidator(environment).validate());
+    }
+
+    @Test
+    void defaultsAreConsistent() {
+        assertEquals(List.of(), new JdbcSettingsValidator(new MockEnvironment()).validate());
+    }
+
+    @Test
+    void autocommitConflict() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.properties.hibernate.connection.provider_disables_autocommit", "true");
+
+        List<String> warnings = new JdbcSettingsValidator(environment).validate();
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().contains("provider_disables_autocommit"));
+    }
+
+    @Test
+    void highThroughputProfileWithReplicaIsConsistent() throws IOException {
+        MockEnvironment environment = new MockEnvironment().withProperty("user.datasource.replica.enabled", "true");
+        environment.getPropertySources().addLast(
+                new ResourcePropertySource(new ClassPathResource("application-high-throughput.properties")));
+        environment.getPropertySources().addLast(
+                new ResourcePropertySource(new ClassPathResource("application.properties")));
+
+        assertEquals(List.of(), new JdbcSettingsValidator(environment).validate());
+    }
+
+    @Test
+    void replicaAutocommitConflict() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("user.datasource.replica.enabled", "true")
+                .withProperty("spring.datasource.hikari.auto-commit", "false")
+                .withProperty("spring.jpa.open-in-view", "false")
+                .withProperty("spring.jpa.properties.hibernate.connection.provider_disables_autocommit", "true")
+                .withProperty("spring.jpa.properties.hibernate.jdbc.fetch_size", "500");
+
+        List<String> warnings = new JdbcSettingsValidator(environment).validate();
+
+        assertEquals(2, warnings.size());
+        assertTrue(warnings.stream().allMatch(warning -> warning.contains("replica")));
+    }
+
+    @Test
+    void batchingSettingsWithoutBatchSize() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "true")
+                .withProperty("spring.jpa.properties.hibernate.order_inserts", "true");
+
+        assertEquals(2, new JdbcSettingsValidator(environment).validate().size());
+    }
+
+    @Test
+    void poolSmallerThanConcurrencyLimit() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("user.admission.enabled", "true")
+                .withProperty("user.admission.concurrency.max-limit", "200")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "10");
+
+        List<String> warnings = new JdbcSettingsValidator(environment).validate();
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().contains("max-limit"));
+    }
+}
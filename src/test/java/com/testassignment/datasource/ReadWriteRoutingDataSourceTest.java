@@ -0,0 +1,84 @@
+package com.testassignment.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+    private final ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(readYourWritesTracker);
+
+    @AfterEach
+    public void reset() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        readYourWritesTracker.clear();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplica() {
+        startTransaction(true);
+
+        assertEquals(DataSourceRole.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesReadWriteTransactionsToPrimary() {
+        startTransaction(false);
+
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesNonTransactionalAccessToPrimary() {
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void pinsClientToPrimaryAfterWrite() {
+        readYourWritesTracker.bind("client-a");
+        startTransaction(false);
+        routingDataSource.determineCurrentLookupKey();
+
+        startTransaction(true);
+
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void doesNotPinOtherClients() {
+        readYourWritesTracker.bind("client-a");
+        startTransaction(false);
+        routingDataSource.determineCurrentLookupKey();
+
+        readYourWritesTracker.bind("client-b");
+        startTransaction(true);
+
+        assertEquals(DataSourceRole.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void releasesPinAfterWindow() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ZERO);
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(tracker);
+        tracker.bind("client-a");
+        startTransaction(false);
+        dataSource.determineCurrentLookupKey();
+
+        startTransaction(true);
+
+        assertEquals(DataSourceRole.REPLICA, dataSource.determineCurrentLookupKey());
+        tracker.clear();
+    }
+
+    private void startTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
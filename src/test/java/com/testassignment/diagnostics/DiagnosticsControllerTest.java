@@ -0,0 +1,73 @@
+package com.testassignment.diagnostics;
+
+import com.testassignment.TestAssignmentApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.testassignment.web.AdminAccessFilter.ADMIN_TOKEN_HEADER;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = TestAssignmentApplication.class,
+        properties = {"user.diagnostics.slow-query-threshold=0s", "user.diagnostics.explain-sample-rate=0",
+                "user.admin.token=" + DiagnosticsControllerTest.ADMIN_TOKEN})
+@AutoConfigureMockMvc
+public class DiagnosticsControllerTest {
+    static final String ADMIN_TOKEN = "test-admin-token";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @AfterEach
+    public void disableDiagnostics() throws Exception {
+        mvc.perform(put("/api/v1/admin/diagnostics").param("enabled", "false")
+                .header(ADMIN_TOKEN_HEADER, ADMIN_TOKEN));
+        mvc.perform(delete("/api/v1/admin/diagnostics").header(ADMIN_TOKEN_HEADER, ADMIN_TOKEN));
+    }
+
+    @Test
+    public void testDiagnosticsDisabled() throws Exception {
+        mvc.perform(get("/api/v1/users/search?startDate=2000-01-01&endDate=2000-01-02"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/v1/admin/diagnostics").header(ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(false))
+                .andExpect(jsonPath("$.queries.length()").value(0));
+    }
+
+    @Test
+    public void testDiagnosticsEnabled() throws Exception {
+        mvc.perform(put("/api/v1/admin/diagnostics").param("enabled", "true")
+                        .header(ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.enabled").value(true));
+        mvc.perform(get("/api/v1/users/search?startDate=1990-01-01&endDate=1990-01-02"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/v1/admin/diagnostics").header(ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queries[0].method").value("UserRepository.findByBirthDateBetween"))
+                .andExpect(jsonPath("$.queries[0].calls").value(1))
+                .andExpect(jsonPath("$.slowQueries[0].arguments").value(matchesPattern(
+                        "\\[LocalDate#[0-9a-f]{8}, LocalDate#[0-9a-f]{8}]")))
+                .andExpect(jsonPath("$.slowQueries[0].statements.length()").value(1));
+    }
+
+    @Test
+    public void testAdminTokenRequired() throws Exception {
+        mvc.perform(put("/api/v1/admin/diagnostics").param("enabled", "true"))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/v1/admin/diagnostics").header(ADMIN_TOKEN_HEADER, "wrong"))
+                .andExpect(status().isForbidden());
+
+        mvc.perform(get("/api/v1/admin/diagnostics").header(ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.enabled").value(false));
+    }
+}
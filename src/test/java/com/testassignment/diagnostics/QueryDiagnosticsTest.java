@@ -0,0 +1,97 @@
+package com.testassignment.diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class QueryDiagnosticsTest {
+    private QueryPlanSampler queryPlanSampler;
+    private QueryDiagnostics queryDiagnostics;
+
+    @BeforeEach
+    public void setup() {
+        queryPlanSampler = mock(QueryPlanSampler.class);
+        queryDiagnostics = new QueryDiagnostics(queryPlanSampler, true, Duration.ofMillis(100), 1.0, 2, 2);
+    }
+
+    @Test
+    void recordsQueryStats() {
+        queryDiagnostics.recordQuery("UserRepository.findById", new Object[]{1L}, 2_000_000, List.of());
+        queryDiagnostics.recordQuery("UserRepository.findById", new Object[]{2L}, 4_000_000, List.of());
+
+        QueryStats stats = queryDiagnostics.report().queries().getFirst();
+        assertEquals(2, stats.calls());
+        assertEquals(3.0, stats.averageMs());
+        assertEquals(4.0, stats.maxMs());
+        assertTrue(queryDiagnostics.report().slowQueries().isEmpty());
+        verifyNoInteractions(queryPlanSampler);
+    }
+
+    @Test
+    void recordsSlowQueriesAndSamplesPlans() {
+        queryDiagnostics.recordQuery("UserRepository.findByBirthDateBetween", new Object[]{"a", "b"}, 150_000_000,
+                List.of("select * from users"));
+
+        SlowQuery slowQuery = queryDiagnostics.report().slowQueries().getFirst();
+        assertTrue(slowQuery.getArguments().matches("\\[String#[0-9a-f]{8}, String#[0-9a-f]{8}]"));
+        assertEquals(List.of("select * from users"), slowQuery.getStatements());
+        verify(queryPlanSampler).sample(eq(slowQuery), any());
+    }
+
+    @Test
+    void redactsArguments() {
+        queryDiagnostics.recordQuery("UserRepository.existsByEmail",
+                new Object[]{"jane@example.com", List.of(1L, 2L), 7L, true}, 150_000_000, List.of());
+        queryDiagnostics.recordQuery("UserRepository.existsByEmail", new Object[]{"jane@example.com"},
+                150_000_000, List.of());
+
+        List<SlowQuery> slowQueries = queryDiagnostics.report().slowQueries();
+        String arguments = slowQueries.getFirst().getArguments();
+        assertFalse(arguments.contains("jane"));
+        assertTrue(arguments.matches("\\[String#([0-9a-f]{8}), <2 elements>, 7, true]"));
+        assertTrue(arguments.startsWith(slowQueries.get(1).getArguments().replace("]", "")));
+    }
+
+    @Test
+    void keepsLatestSamples() {
+        for (int i = 0; i < 3; i++) {
+            queryDiagnostics.recordQuery("UserRepository.findById", new Object[]{i}, 150_000_000, List.of());
+        }
+
+        List<SlowQuery> slowQueries = queryDiagnostics.report().slowQueries();
+        assertEquals(List.of("[1]", "[2]"), slowQueries.stream().map(SlowQuery::getArguments).toList());
+    }
+
+    @Test
+    void capturesStatementsPerCall() {
+        List<String> previous = queryDiagnostics.startCapture();
+        queryDiagnostics.onStatement("select 1");
+        queryDiagnostics.onStatement("select 2");
+
+        assertEquals(List.of("select 1", "select 2"), queryDiagnostics.endCapture(previous));
+    }
+
+    @Test
+    void reportsStatementCountAnomalies() {
+        queryDiagnostics.beginRequest();
+        queryDiagnostics.onStatement("select 1");
+        queryDiagnostics.onStatement("select 1");
+        queryDiagnostics.endRequest("GET /api/v1/users/search");
+        queryDiagnostics.beginRequest();
+        for (int i = 0; i < 3; i++) {
+            queryDiagnostics.onStatement("select 1");
+        }
+        queryDiagnostics.endRequest("POST /api/v1/users/_mget");
+
+        List<StatementAnomaly> anomalies = queryDiagnostics.report().statementAnomalies();
+        assertEquals(1, anomalies.size());
+        assertEquals("POST /api/v1/users/_mget", anomalies.getFirst().request());
+        assertEquals(3, anomalies.getFirst().statements());
+    }
+}
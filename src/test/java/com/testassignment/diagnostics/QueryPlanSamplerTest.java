@@ -0,0 +1,83 @@
+package com.testassignment.diagnostics;
+
+import com.testassignment.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class QueryPlanSamplerTest {
+    private static final LocalDate START = LocalDate.of(2000, 1, 1);
+    private static final LocalDate END = LocalDate.of(2001, 1, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private QueryPlanSampler queryPlanSampler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ObjectProvider<PlatformTransactionManager> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(transactionManager);
+        queryPlanSampler = new QueryPlanSampler(jdbcTemplate, provider);
+    }
+
+    @Test
+    void bindsTenantRestrictionOfTenantScopedQueries() {
+        SlowQuery slowQuery = slowQuery("select u1_0.id from users u1_0 where u1_0.tenant_id = ? "
+                + "and (u1_0.deleted_at is null) and u1_0.birth_date between ? and ?");
+        when(jdbcTemplate.queryForList(any(String.class), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("Index Scan"));
+
+        TenantContext.callAs("tenant-a", () -> {
+            queryPlanSampler.sample(slowQuery, new Object[]{START, END, PageRequest.of(0, 10)});
+            return null;
+        });
+
+        verify(jdbcTemplate, timeout(5000)).queryForList(
+                "explain (analyze, buffers) " + slowQuery.getStatements().getFirst(), String.class,
+                "tenant-a", START, END);
+        assertEquals("Index Scan", slowQuery.getPlan());
+    }
+
+    @Test
+    void bindsArgumentsOfQueriesWithoutTenantRestriction() {
+        SlowQuery slowQuery = slowQuery("select o1_0.id from user_history_outbox o1_0 where o1_0.attempts > ?");
+        when(jdbcTemplate.queryForList(any(String.class), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("Seq Scan"));
+
+        queryPlanSampler.sample(slowQuery, new Object[]{3});
+
+        verify(jdbcTemplate, timeout(5000)).queryForList(
+                "explain (analyze, buffers) " + slowQuery.getStatements().getFirst(), String.class, 3);
+    }
+
+    @Test
+    void skipsStatementsThatDoNotMatchTheArguments() {
+        SlowQuery slowQuery = slowQuery("select u1_0.id from users u1_0 where u1_0.tenant_id = ? "
+                + "and u1_0.birth_date between ? and ?");
+
+        queryPlanSampler.sample(slowQuery, new Object[]{START});
+
+        assertTrue(slowQuery.getPlan().startsWith("Not sampled"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static SlowQuery slowQuery(String sql) {
+        return new SlowQuery(Instant.now(), "UserRepository.findByBirthDateBetween", "", 300, List.of(sql));
+    }
+}
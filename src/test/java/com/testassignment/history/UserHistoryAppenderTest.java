@@ -0,0 +1,47 @@
+package com.testassignment.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testassignment.tenant.TenantContext;
+import com.testassignment.user.UserChangedEvent;
+import com.testassignment.user.UserSnapshot;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserHistoryAppenderTest {
+    private final UserSnapshot user = new UserSnapshot(1L, "test@test.com", "test", "test",
+            LocalDate.of(2000, 1, 1), "test", "test");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final UserHistoryOutboxRepository userHistoryOutboxRepository = mock(UserHistoryOutboxRepository.class);
+    private final UserHistoryAppender appender = new UserHistoryAppender(userHistoryOutboxRepository, objectMapper);
+
+    @Test
+    void recordsChangeInOutbox() throws Exception {
+        UserChangedEvent event = new UserChangedEvent(null, user);
+
+        TenantContext.callAs("tenant-a", () -> {
+            appender.onUserChanged(event);
+            return null;
+        });
+
+        ArgumentCaptor<UserHistoryOutboxEntry> saved = ArgumentCaptor.forClass(UserHistoryOutboxEntry.class);
+        verify(userHistoryOutboxRepository).save(saved.capture());
+        assertEquals("tenant-a", saved.getValue().getTenantId());
+        assertEquals(event, objectMapper.readValue(saved.getValue().getPayload(), UserChangedEvent.class));
+    }
+
+    @Test
+    void skipsUpdatesWithoutChanges() {
+        appender.onUserChanged(new UserChangedEvent(user, user));
+
+        verify(userHistoryOutboxRepository, never()).save(any());
+    }
+}
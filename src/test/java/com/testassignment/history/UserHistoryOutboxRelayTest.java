@@ -0,0 +1,160 @@
+package com.testassignment.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testassignment.user.UserChangedEvent;
+import com.testassignment.user.UserSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class UserHistoryOutboxRelayTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private UserHistoryOutboxRepository userHistoryOutboxRepository;
+    private UserHistoryRepository userHistoryRepository;
+    private TransactionStatus transactionStatus;
+    private UserHistoryOutboxRelay relay;
+    private final List<UserHistoryEntry> saved = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        userHistoryOutboxRepository = mock(UserHistoryOutboxRepository.class);
+        userHistoryRepository = mock(UserHistoryRepository.class);
+        transactionStatus = mock(TransactionStatus.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(transactionStatus));
+        doAnswer(i -> {
+            ((Consumer<TransactionStatus>) i.getArgument(0)).accept(transactionStatus);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userHistoryOutboxRepository.deleteByIdIn(anyCollection()))
+                .thenAnswer(i -> ((Collection<?>) i.getArgument(0)).size());
+        when(userHistoryRepository.saveAll(anyList())).thenAnswer(i -> {
+            saved.addAll(i.getArgument(0));
+            return i.getArgument(0);
+        });
+        relay = new UserHistoryOutboxRelay(userHistoryOutboxRepository, userHistoryRepository, transactionTemplate,
+                objectMapper, 10, 3);
+    }
+
+    @Test
+    void writesHistoryEntries() throws Exception {
+        UserSnapshot user = user(1L, "test");
+        UserSnapshot updated = new UserSnapshot(1L, user.email(), "updated", "test", user.birthDate(), "test",
+                "test");
+        outbox(entry(1L, "default", new UserChangedEvent(null, user)),
+                entry(2L, "default", new UserChangedEvent(user, updated)),
+                entry(3L, "default", new UserChangedEvent(updated, null)));
+
+        relay.relay();
+
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                saved.stream().map(UserHistoryEntry::getChangeType).toList());
+        UserHistoryEntry update = saved.get(1);
+        assertEquals("{\"firstName\":{\"before\":\"test\",\"after\":\"updated\"}}", update.getChanges());
+        assertEquals("updated", update.getFirstName());
+        assertNull(saved.get(2).getEmail());
+        verify(userHistoryOutboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void writesOneTransactionPerTenant() throws Exception {
+        outbox(entry(1L, "tenant-a", new UserChangedEvent(null, user(1L, "a"))),
+                entry(2L, "tenant-b", new UserChangedEvent(null, user(2L, "b"))));
+
+        relay.relay();
+
+        verify(userHistoryOutboxRepository).deleteByIdIn(List.of(1L));
+        verify(userHistoryOutboxRepository).deleteByIdIn(List.of(2L));
+        assertEquals(List.of("tenant-a", "tenant-b"), saved.stream().map(UserHistoryEntry::getTenantId).toList());
+    }
+
+    @Test
+    void isolatesFailingEntryAndCountsAttempt() throws Exception {
+        outbox(entry(1L, "default", new UserChangedEvent(null, user(1L, "good"))),
+                entry(2L, "default", new UserChangedEvent(null, user(2L, "poison"))));
+        when(userHistoryRepository.saveAll(anyList())).thenAnswer(i -> {
+            List<UserHistoryEntry> entries = i.getArgument(0);
+            if (entries.stream().anyMatch(entry -> entry.getFirstName().equals("poison"))) {
+                throw new IllegalStateException("no partition of relation \"user_history\" found for row");
+            }
+            saved.addAll(entries);
+            return entries;
+        });
+
+        relay.relay();
+
+        assertEquals(List.of("good"), saved.stream().map(UserHistoryEntry::getFirstName).toList());
+        verify(userHistoryOutboxRepository).markFailed(eq(2L), eq(1), contains("no partition"), isNull());
+    }
+
+    @Test
+    void deadLettersEntryAfterMaxAttempts() throws Exception {
+        UserHistoryOutboxEntry poison = entry(1L, "default", new UserChangedEvent(null, user(1L, "poison")));
+        poison.setAttempts(2);
+        outbox(poison);
+        when(userHistoryRepository.saveAll(anyList())).thenThrow(new IllegalStateException("rejected"));
+
+        relay.relay();
+
+        verify(userHistoryOutboxRepository).markFailed(eq(1L), eq(3), eq("rejected"), notNull());
+    }
+
+    @Test
+    void skipsRowsRelayedByAnotherInstance() throws Exception {
+        outbox(entry(1L, "default", new UserChangedEvent(null, user(1L, "test"))));
+        when(userHistoryOutboxRepository.deleteByIdIn(anyCollection())).thenReturn(0);
+
+        relay.relay();
+
+        verify(transactionStatus).setRollbackOnly();
+        verify(userHistoryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void stopsWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            relay.relay();
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        verify(userHistoryOutboxRepository, never()).findByDeadLetteredAtIsNullOrderByIdAsc(any());
+    }
+
+    private void outbox(UserHistoryOutboxEntry... entries) {
+        when(userHistoryOutboxRepository.findByDeadLetteredAtIsNullOrderByIdAsc(any())).thenReturn(List.of(entries));
+    }
+
+    private UserHistoryOutboxEntry entry(Long id, String tenantId, UserChangedEvent event) throws Exception {
+        UserHistoryOutboxEntry entry = new UserHistoryOutboxEntry();
+        entry.setId(id);
+        entry.setTenantId(tenantId);
+        entry.setChangedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        entry.setPayload(objectMapper.writeValueAsString(event));
+        return entry;
+    }
+
+    private UserSnapshot user(Long id, String firstName) {
+        return new UserSnapshot(id, firstName + "@test.com", firstName, "test", LocalDate.of(2000, 1, 1),
+                "test", "test");
+    }
+}
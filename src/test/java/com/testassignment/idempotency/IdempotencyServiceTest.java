@@ -0,0 +1,149 @@
+package com.testassignment.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testassignment.exceptions.DuplicatedEmailException;
+import com.testassignment.exceptions.IdempotencyKeyReuseException;
+import com.testassignment.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyServiceTest {
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, Duration.ofHours(1),
+            Clock.systemUTC());
+
+    private final IdempotencyService idempotencyService = new IdempotencyService(store,
+            new ObjectMapper().findAndRegisterModules());
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void executesWithoutKey() {
+        idempotencyService.execute(null, "POST /users", "request", User.class, this::createUser);
+        idempotencyService.execute(null, "POST /users", "request", User.class, this::createUser);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void replaysStoredResponse() {
+        User first = idempotencyService.execute("key", "POST /users", "request", User.class, this::createUser);
+        User second = idempotencyService.execute("key", "POST /users", "request", User.class, this::createUser);
+
+        assertEquals(1, calls.get());
+        assertEquals(first.getId(), second.getId());
+        assertEquals("test@test.com", second.getEmail());
+    }
+
+    @Test
+    void rejectsKeyReuseForDifferentRequest() {
+        idempotencyService.execute("key", "POST /users", "request", User.class, this::createUser);
+
+        assertThrows(IdempotencyKeyReuseException.class, () -> idempotencyService.execute("key", "POST /users",
+                "other request", User.class, this::createUser));
+        assertThrows(IdempotencyKeyReuseException.class, () -> idempotencyService.execute("key", "PUT /users/1",
+                "request", User.class, this::createUser));
+    }
+
+    @Test
+    void doesNotStoreFailures() {
+        assertThrows(DuplicatedEmailException.class, () -> idempotencyService.execute("key", "POST /users",
+                "request", User.class, () -> {
+                    throw new DuplicatedEmailException("Email already exists");
+                }));
+
+        idempotencyService.execute("key", "POST /users", "request", User.class, this::createUser);
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void coalescesConcurrentDuplicates() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> first = executor.submit(() -> idempotencyService.execute("key", "POST /users", "request",
+                    User.class, () -> {
+                        started.countDown();
+                        await(release);
+                        return createUser();
+                    }));
+            started.await();
+            Future<User> second = executor.submit(() -> idempotencyService.execute("key", "POST /users", "request",
+                    User.class, this::createUser));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiresStoredResponses() {
+        InMemoryIdempotencyStore expiringStore = new InMemoryIdempotencyStore(100, Duration.ZERO,
+                Clock.systemUTC());
+        expiringStore.putIfAbsent("key", new StoredResponse("fingerprint", "{}"));
+
+        assertTrue(expiringStore.find("key").isEmpty());
+    }
+
+    @Test
+    void evictsOldestEntriesAboveCapacity() {
+        InMemoryIdempotencyStore smallStore = new InMemoryIdempotencyStore(2, Duration.ofHours(1), Clock.systemUTC());
+        smallStore.putIfAbsent("a", new StoredResponse("fingerprint", "{}"));
+        smallStore.putIfAbsent("b", new StoredResponse("fingerprint", "{}"));
+        smallStore.putIfAbsent("c", new StoredResponse("fingerprint", "{}"));
+
+        assertTrue(smallStore.find("a").isEmpty());
+        assertTrue(smallStore.find("c").isPresent());
+    }
+
+    @Test
+    void keepsFirstStoredResponse() {
+        assertEquals("first", store.putIfAbsent("key", new StoredResponse("fingerprint", "first")).body());
+        assertEquals("first", store.putIfAbsent("key", new StoredResponse("fingerprint", "second")).body());
+    }
+
+    @Test
+    void replaysResponseStoredByAnotherInstance() {
+        IdempotencyStore racingStore = new InMemoryIdempotencyStore(100, Duration.ofHours(1), Clock.systemUTC()) {
+            @Override
+            public StoredResponse putIfAbsent(String key, StoredResponse response) {
+                super.putIfAbsent(key, new StoredResponse(response.fingerprint(),
+                        "{\"id\":42,\"email\":\"winner@test.com\"}"));
+                return super.putIfAbsent(key, response);
+            }
+        };
+        IdempotencyService service = new IdempotencyService(racingStore, new ObjectMapper().findAndRegisterModules());
+
+        User user = service.execute("key", "POST /users", "request", User.class, this::createUser);
+
+        assertEquals(42, user.getId());
+        assertEquals("winner@test.com", user.getEmail());
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setId((long) calls.incrementAndGet());
+        user.setEmail("test@test.com");
+        return user;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
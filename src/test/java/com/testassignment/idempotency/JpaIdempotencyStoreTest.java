@@ -0,0 +1,61 @@
+package com.testassignment.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JpaIdempotencyStoreTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void recordsAreInsertedNotMerged() {
+        assertTrue(new IdempotencyRecord().isNew());
+    }
+
+    @Test
+    void returnsStoredResponseWhenInserted() {
+        StoredResponse response = new StoredResponse("fingerprint", "mine");
+
+        assertEquals(response, store().putIfAbsent("key", response));
+        verify(idempotencyRecordRepository).deleteExpired("key", NOW);
+        verify(idempotencyRecordRepository).saveAndFlush(any());
+    }
+
+    @Test
+    void returnsExistingResponseOnDuplicateKey() {
+        IdempotencyRecord winner = new IdempotencyRecord();
+        winner.setIdempotencyKey("key");
+        winner.setFingerprint("fingerprint");
+        winner.setResponse("theirs");
+        winner.setExpiresAt(NOW.plusSeconds(60));
+        when(idempotencyRecordRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.of(winner));
+
+        StoredResponse stored = store().putIfAbsent("key", new StoredResponse("fingerprint", "mine"));
+
+        assertEquals("theirs", stored.body());
+    }
+
+    private JpaIdempotencyStore store() {
+        return new JpaIdempotencyStore(idempotencyRecordRepository, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+}
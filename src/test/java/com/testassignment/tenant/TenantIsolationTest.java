@@ -0,0 +1,129 @@
+package com.testassignment.tenant;
+
+import com.testassignment.TestAssignmentApplication;
+import com.testassignment.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.testassignment.tenant.TenantFilter.GATEWAY_TOKEN_HEADER;
+import static com.testassignment.tenant.TenantFilter.TENANT_ID_HEADER;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = TestAssignmentApplication.class,
+        properties = {"user.tenant.enabled=true", "user.tenant.gateway-token=" + TenantIsolationTest.GATEWAY_TOKEN,
+                "user.tenant.allowed=tenant-a,tenant-b,tenant-c"})
+@AutoConfigureMockMvc
+public class TenantIsolationTest {
+    static final String GATEWAY_TOKEN = "test-gateway-token";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    final String userJson = """
+            {
+              "email": "test@test.com",
+              "firstName": "test",
+              "lastName": "test",
+              "birthDate": "2005-04-27",
+              "address": "test",
+              "phoneNumber": "test"
+            }""";
+
+    @AfterEach
+    public void resetDb() {
+        for (String tenant : new String[]{"tenant-a", "tenant-b"}) {
+            TenantContext.callAs(tenant, () -> {
+                userRepository.deleteAll();
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testTenantsAreIsolated() throws Exception {
+        for (String tenant : new String[]{"tenant-a", "tenant-b"}) {
+            mvc.perform(post("/api/v1/users")
+                            .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                            .header(TENANT_ID_HEADER, tenant)
+                            .contentType("application/json")
+                            .content(userJson))
+                    .andExpect(status().isOk());
+        }
+        mvc.perform(post("/api/v1/users")
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .header(TENANT_ID_HEADER, "tenant-a")
+                        .contentType("application/json")
+                        .content(userJson))
+                .andExpect(status().isConflict());
+
+        Long tenantAUserId = TenantContext.callAs("tenant-a", () -> userRepository.findAll().getFirst().getId());
+        mvc.perform(get("/api/v1/users/search")
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .header(TENANT_ID_HEADER, "tenant-c")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(0));
+        mvc.perform(patch("/api/v1/users/" + tenantAUserId)
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .header(TENANT_ID_HEADER, "tenant-c")
+                        .contentType("application/json")
+                        .content("{\"firstName\": \"other\"}"))
+                .andExpect(status().isNotFound());
+        mvc.perform(post("/api/v1/users/_bulk-delete")
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .header(TENANT_ID_HEADER, "tenant-c")
+                        .contentType("application/json")
+                        .content("{\"ids\": [" + tenantAUserId + "]}"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.affected").value(0));
+    }
+
+    @Test
+    public void testTenantWithoutGatewayToken() throws Exception {
+        mvc.perform(get("/api/v1/users/search")
+                        .header(TENANT_ID_HEADER, "tenant-a")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/v1/users/search")
+                        .header(GATEWAY_TOKEN_HEADER, "wrong-token")
+                        .header(TENANT_ID_HEADER, "tenant-a")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testTenantRequired() throws Exception {
+        mvc.perform(get("/api/v1/users/search")
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/v1/users/search")
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .header(TENANT_ID_HEADER, "not a tenant")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testUnknownTenant() throws Exception {
+        mvc.perform(get("/api/v1/users/search")
+                        .header(GATEWAY_TOKEN_HEADER, GATEWAY_TOKEN)
+                        .header(TENANT_ID_HEADER, "tenant-d")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isForbidden());
+    }
+}
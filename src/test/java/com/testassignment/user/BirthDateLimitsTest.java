@@ -0,0 +1,43 @@
+package com.testassignment.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BirthDateLimitsTest {
+
+    @Test
+    void matchesPlusYearsRule() {
+        for (LocalDate today = LocalDate.of(2023, 12, 1); today.isBefore(LocalDate.of(2025, 4, 1));
+             today = today.plusDays(1)) {
+            for (int minAge : new int[]{0, 1, 4, 18}) {
+                BirthDateLimits limits = BirthDateLimits.compute(fixedClock(today), minAge);
+                for (LocalDate birthDate = today.minusYears(minAge).minusDays(3);
+                     !birthDate.isAfter(today.minusYears(minAge).plusDays(3)); birthDate = birthDate.plusDays(1)) {
+                    assertEquals(birthDate.plusYears(minAge).isAfter(today),
+                            birthDate.isAfter(limits.latestAdultBirthDate()),
+                            "today " + today + ", birth date " + birthDate + ", min age " + minAge);
+                }
+            }
+        }
+    }
+
+    @Test
+    void validUntilNextMidnight() {
+        Clock clock = Clock.fixed(Instant.parse("2024-02-28T23:59:00Z"), ZoneOffset.UTC);
+
+        BirthDateLimits limits = BirthDateLimits.compute(clock, 18);
+
+        assertEquals(LocalDate.of(2024, 2, 28), limits.today());
+        assertTrue(limits.isValidAt(Instant.parse("2024-02-28T23:59:59Z").toEpochMilli()));
+        assertFalse(limits.isValidAt(Instant.parse("2024-02-29T00:00:00Z").toEpochMilli()));
+    }
+
+    private Clock fixedClock(LocalDate date) {
+        return Clock.fixed(date.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,126 @@
+package com.testassignment.user;
+
+import com.testassignment.exceptions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserBulkServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserBulkService userBulkService;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(userBulkService, "chunkSize", 2);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void deleteUsersByIds() {
+        when(userRepository.deleteAllByIdIn(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+        BulkOperationResult result = userBulkService.deleteUsers(
+                new UserBulkFilterDto(List.of(1L, 2L, 3L, 2L), null, null));
+
+        verify(userRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(userRepository).deleteAllByIdIn(List.of(3L));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher, times(2)).publishEvent(any(UsersBulkChangedEvent.class));
+        assertEquals(3, result.affected());
+    }
+
+    @Test
+    void deleteUsersByBirthDateRange() {
+        LocalDate from = LocalDate.of(1990, 1, 1);
+        LocalDate to = LocalDate.of(1999, 12, 31);
+        when(userRepository.findIdsByBirthDateBetween(eq(from), eq(to), anyLong(), any()))
+                .thenReturn(List.of(1L, 5L), List.of(7L), List.of());
+        when(userRepository.deleteAllByIdIn(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+        BulkOperationResult result = userBulkService.deleteUsers(new UserBulkFilterDto(null, from, to));
+
+        verify(userRepository).findIdsByBirthDateBetween(eq(from), eq(to), eq(Long.MIN_VALUE), any());
+        verify(userRepository).findIdsByBirthDateBetween(eq(from), eq(to), eq(5L), any());
+        verify(userRepository).findIdsByBirthDateBetween(eq(from), eq(to), eq(7L), any());
+        assertEquals(3, result.affected());
+    }
+
+    @Test
+    void deleteUsersWithoutFilter() {
+        assertThrows(InvalidBulkRequestException.class,
+                () -> userBulkService.deleteUsers(new UserBulkFilterDto(null, null, null)));
+    }
+
+    @Test
+    void deleteUsersWithIdsAndRange() {
+        assertThrows(InvalidBulkRequestException.class, () -> userBulkService.deleteUsers(
+                new UserBulkFilterDto(List.of(1L), LocalDate.of(1990, 1, 1), LocalDate.of(1999, 1, 1))));
+    }
+
+    @Test
+    void deleteUsersInvalidDateRange() {
+        assertThrows(InvalidDateRangeException.class, () -> userBulkService.deleteUsers(
+                new UserBulkFilterDto(null, LocalDate.of(1999, 1, 1), LocalDate.of(1990, 1, 1))));
+    }
+
+    @Test
+    void updateUsers() {
+        UserUpdateDto changes = new UserUpdateDto(null, null, null, null, "Normalized street", null);
+        when(userRepository.updateFieldsByIdIn(anyList(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        BulkOperationResult result = userBulkService.updateUsers(
+                new UserBulkUpdateDto(new UserBulkFilterDto(List.of(1L), null, null), changes));
+
+        verify(userRepository).updateFieldsByIdIn(List.of(1L), null, null, null, "Normalized street", null);
+        assertEquals(1, result.affected());
+    }
+
+    @Test
+    void updateUsersEmail() {
+        UserUpdateDto changes = new UserUpdateDto("test@test.com", null, null, null, null, null);
+
+        assertThrows(InvalidBulkRequestException.class, () -> userBulkService.updateUsers(
+                new UserBulkUpdateDto(new UserBulkFilterDto(List.of(1L), null, null), changes)));
+    }
+
+    @Test
+    void updateUsersUnderageDate() {
+        LocalDate birthDate = LocalDate.of(2020, 1, 1);
+        UserUpdateDto changes = new UserUpdateDto(null, null, null, birthDate, null, null);
+        doThrow(UserUnderageException.class).when(userService).validateBirthDate(birthDate);
+
+        assertThrows(UserUnderageException.class, () -> userBulkService.updateUsers(
+                new UserBulkUpdateDto(new UserBulkFilterDto(List.of(1L), null, null), changes)));
+        verify(userRepository, never()).updateFieldsByIdIn(anyList(), any(), any(), any(), any(), any());
+    }
+}
@@ -1,6 +1,7 @@
 package com.testassignment.user;
 
 import com.testassignment.TestAssignmentApplication;
+import com.testassignment.history.UserHistoryRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -25,6 +27,9 @@ public class UserControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserHistoryRepository userHistoryRepository;
+
     final String userJson = """
             {
               "email": "test@test.com",
@@ -58,6 +63,31 @@ public class UserControllerTest {
                 .andExpect(status().isOk()).andExpect(jsonPath("$.email").value("test@test.com"));
     }
 
+    @Test
+    public void testCreateUserIdempotent() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(post("/api/v1/users")
+                            .header("Idempotency-Key", "create-test-user")
+                            .contentType("application/json")
+                            .content(userJson))
+                    .andExpect(status().isOk()).andExpect(jsonPath("$.email").value("test@test.com"));
+        }
+    }
+
+    @Test
+    public void testCreateUserIdempotencyKeyReuse() throws Exception {
+        mvc.perform(post("/api/v1/users")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType("application/json")
+                        .content(userJson))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/v1/users")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType("application/json")
+                        .content(updatedUserJson))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     public void testCreateUserBadEmail() throws Exception {
         mvc.perform(post("/api/v1/users")
@@ -66,6 +96,18 @@ public class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void testCreateUserMissingFields() throws Exception {
+        mvc.perform(post("/api/v1/users")
+                        .contentType("application/json")
+                        .content("{\"email\": \"test@test.com\", \"firstName\": \" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation Failed"))
+                .andExpect(jsonPath("$.errors.firstName").value("The 'firstName' cannot be empty"))
+                .andExpect(jsonPath("$.errors.lastName").value("The 'lastName' cannot be null"))
+                .andExpect(jsonPath("$.errors.birthDate").value("The 'birthDate' cannot be null"));
+    }
+
     @Test
     public void testCreateUserDuplicatedEmail() throws Exception {
         createTestUser();
@@ -267,6 +309,37 @@ public class UserControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void testGetUserHistory() throws Exception {
+        mvc.perform(post("/api/v1/users")
+                        .contentType("application/json")
+                        .content(userJson))
+                .andExpect(status().isOk());
+        Long id = userRepository.findAll().getFirst().getId();
+        Instant createdAt = Instant.now();
+        Thread.sleep(10);
+        mvc.perform(put("/api/v1/users/" + id)
+                        .contentType("application/json")
+                        .content(updatedUserJson))
+                .andExpect(status().isOk());
+        for (int i = 0; i < 50 && userHistoryRepository.findByUserIdOrderByChangedAtAscIdAsc(id).size() < 2; i++) {
+            Thread.sleep(100);
+        }
+
+        mvc.perform(get("/api/v1/users/" + id + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].changeType").value("UPDATED"))
+                .andExpect(jsonPath("$[1].changes.email.before").value("test@test.com"))
+                .andExpect(jsonPath("$[1].changes.email.after").value("updated@test.com"));
+        mvc.perform(get("/api/v1/users/" + id + "/history/as-of")
+                        .param("timestamp", createdAt.toString()))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.email").value("test@test.com"));
+        mvc.perform(get("/api/v1/users/" + id + "/history/as-of")
+                        .param("timestamp", createdAt.minusSeconds(60).toString()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testSearchUsersByBirthDateRange() throws Exception {
         createTestUser();
@@ -285,6 +358,90 @@ public class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void testGetUsersByIds() throws Exception {
+        createTestUser();
+        Long id = userRepository.findAll().getFirst().getId();
+        mvc.perform(post("/api/v1/users/_mget")
+                        .contentType("application/json")
+                        .content("{\"ids\": [" + (id + 1) + ", " + id + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].found").value(false))
+                .andExpect(jsonPath("$[1].found").value(true))
+                .andExpect(jsonPath("$[1].user.email").value("test@test.com"));
+    }
+
+    @Test
+    public void testGetUsersByIdsEmpty() throws Exception {
+        mvc.perform(post("/api/v1/users/_mget")
+                        .contentType("application/json")
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testUpdateUsers() throws Exception {
+        createTestUser();
+        mvc.perform(patch("/api/v1/users/_bulk")
+                        .contentType("application/json")
+                        .content("""
+                                {
+                                  "filter": {"birthDateFrom": "1400-04-27", "birthDateTo": "1700-04-27"},
+                                  "changes": {"address": "updated"}
+                                }"""))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.affected").value(1));
+    }
+
+    @Test
+    public void testUpdateUsersEmail() throws Exception {
+        createTestUser();
+        mvc.perform(patch("/api/v1/users/_bulk")
+                        .contentType("application/json")
+                        .content("""
+                                {
+                                  "filter": {"ids": [1]},
+                                  "changes": {"email": "updated@test.com"}
+                                }"""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testDeleteUsers() throws Exception {
+        createTestUser();
+        mvc.perform(post("/api/v1/users/_bulk-delete")
+                        .contentType("application/json")
+                        .content("{\"ids\": [" + userRepository.findAll().getFirst().getId() + "]}"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.affected").value(1));
+    }
+
+    @Test
+    public void testDeleteUsersWithoutFilter() throws Exception {
+        mvc.perform(post("/api/v1/users/_bulk-delete")
+                        .contentType("application/json")
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchUsersByBirthDateRangeRateLimited() throws Exception {
+        for (int status : new int[]{200, 429}) {
+            mvc.perform(get("/api/v1/users/search")
+                            .header("X-Client-Id", "rate-limit-test")
+                            .param("startDate", "0001-01-01")
+                            .param("endDate", "2000-01-01"))
+                    .andExpect(status().is(status));
+        }
+    }
+
+    @Test
+    public void testTenantHeaderRejectedWithoutMultiTenancy() throws Exception {
+        mvc.perform(get("/api/v1/users/search")
+                        .header("X-Tenant-Id", "tenant-a")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2006-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
     private void createTestUser() {
         User user = new User();
         user.setEmail("test@test.com");
@@ -0,0 +1,94 @@
+package com.testassignment.user;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request validation through Hibernate Validator plus the previous {@code LocalDate.now()}-based
+ * birth date check against {@link UserDtoValidator} plus {@link BirthDateLimits}.
+ * Run {@link #main} on the test class path, e.g. after {@code ./mvnw test-compile} and
+ * {@code ./mvnw dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test}:
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) com.testassignment.user.UserDtoValidationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDtoValidationBenchmark {
+    private static final int MIN_AGE = 18;
+
+    private final UserCreateDto createDto = new UserCreateDto("john.doe@example.com", "John", "Doe",
+            LocalDate.of(1990, 5, 17), "123 Street", "1234567890");
+    private final UserUpdateDto updateDto = new UserUpdateDto("john.doe@example.com", null, null,
+            null, "123 Street", null);
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+    private UserDtoValidator userDtoValidator;
+    private UserService userService;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+        userDtoValidator = new UserDtoValidator();
+        userService = new UserService(null, null);
+        ReflectionTestUtils.setField(userService, "minAge", MIN_AGE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Object createBeanValidation() {
+        Object violations = beanValidator.validate(createDto);
+        previousBirthDateCheck(createDto.birthDate());
+        return violations;
+    }
+
+    @Benchmark
+    public UserCreateDto createPrecompiled() {
+        userDtoValidator.validate(createDto);
+        userService.validateBirthDate(createDto.birthDate());
+        return createDto;
+    }
+
+    @Benchmark
+    public Object updateBeanValidation() {
+        return beanValidator.validate(updateDto);
+    }
+
+    @Benchmark
+    public UserUpdateDto updatePrecompiled() {
+        userDtoValidator.validate(updateDto);
+        return updateDto;
+    }
+
+    private static void previousBirthDateCheck(LocalDate birthDate) {
+        if (birthDate.isAfter(LocalDate.now())) {
+            throw new IllegalStateException();
+        } else if (birthDate.plusYears(MIN_AGE).isAfter(LocalDate.now())) {
+            throw new IllegalStateException();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserDtoValidationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.testassignment.user;
+
+import com.testassignment.exceptions.UserValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDtoValidatorTest {
+
+    private final UserDtoValidator userDtoValidator = new UserDtoValidator();
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private static final List<String> EMAILS = Arrays.asList(null, "", " ", "   ", "test@test.com", "test.com",
+            "testtest.com", "@test.com", "a@b.c", "a@b.co", "a@b.abcdef", "a@b.abcdefg", "a@@b.com", "@@b.com",
+            "a@b.Com", "a b@c.com", "a@.com", "a@b..com", "a@b.com\n", "\ta@b.com", "a.b@c.d.org", "a@b.com.");
+
+    private static final List<String> NAMES = Arrays.asList(null, "", " ", "\t", "John", " John ");
+
+    @Test
+    void createDtoMatchesBeanValidation() {
+        for (String email : EMAILS) {
+            for (String name : NAMES) {
+                for (LocalDate birthDate : Arrays.asList(null, LocalDate.of(2000, 1, 1))) {
+                    assertSameErrors(new UserCreateDto(email, name, "Doe", birthDate, null, null));
+                    assertSameErrors(new UserCreateDto(email, "John", name, birthDate, "street", "123"));
+                }
+            }
+        }
+    }
+
+    @Test
+    void updateDtoMatchesBeanValidation() {
+        for (String email : EMAILS) {
+            assertSameErrors(new UserUpdateDto(email, null, null, null, null, null));
+        }
+    }
+
+    @Test
+    void emailCheckMatchesPattern() {
+        Pattern pattern = Pattern.compile(UserDtoValidator.EMAIL_REGEXP);
+        Random random = new Random(42);
+        char[] alphabet = {'a', 'z', 'A', '@', '.', ' ', '\t', '\n', '1', '-'};
+        for (int i = 0; i < 200_000; i++) {
+            char[] chars = new char[random.nextInt(12)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String value = new String(chars);
+            assertEquals(pattern.matcher(value).matches(), UserDtoValidator.isEmail(value), value);
+        }
+        for (String email : EMAILS) {
+            if (email != null) {
+                assertEquals(pattern.matcher(email).matches(), UserDtoValidator.isEmail(email), email);
+            }
+        }
+    }
+
+    private void assertSameErrors(Object dto) {
+        Map<String, Set<String>> expected = beanValidator.validate(dto).stream()
+                .collect(Collectors.groupingBy(v -> v.getPropertyPath().toString(),
+                        Collectors.mapping(ConstraintViolation::getMessage, Collectors.toSet())));
+
+        Map<String, String> actual = validate(dto);
+
+        assertEquals(expected.keySet(), actual.keySet(), dto.toString());
+        actual.forEach((field, message) -> assertTrue(expected.get(field).contains(message),
+                dto + ": " + field + " -> " + message + " not in " + expected.get(field)));
+    }
+
+    private Map<String, String> validate(Object dto) {
+        try {
+            if (dto instanceof UserCreateDto userCreateDto) {
+                userDtoValidator.validate(userCreateDto);
+            } else {
+                userDtoValidator.validate((UserUpdateDto) dto);
+            }
+            return Map.of();
+        } catch (UserValidationException e) {
+            return e.getErrors();
+        }
+    }
+}
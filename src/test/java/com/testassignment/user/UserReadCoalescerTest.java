@@ -0,0 +1,232 @@
+package com.testassignment.user;
+
+import com.testassignment.datasource.ReadYourWritesTracker;
+import com.testassignment.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserReadCoalescerTest {
+    private static final LocalDate START = LocalDate.of(1990, 1, 1);
+    private static final LocalDate END = LocalDate.of(1999, 12, 31);
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ObjectProvider<ReadYourWritesTracker> readYourWritesTrackerProvider;
+
+    @Test
+    void coalescesConcurrentSearches() throws Exception {
+        UserReadCoalescer coalescer = coalescer(Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.searchUsersByBirthDateRange(START, END)).thenAnswer(i -> {
+            started.countDown();
+            release.await();
+            return List.of(user(1L, START));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<User>> first = executor.submit(() -> coalescer.searchUsersByBirthDateRange(START, END));
+            started.await();
+            Future<List<User>> second = executor.submit(() -> coalescer.searchUsersByBirthDateRange(START, END));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            verify(userService, times(1)).searchUsersByBirthDateRange(START, END);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cachesSearchResults() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+
+        coalescer.searchUsersByBirthDateRange(START, END);
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        verify(userService, times(1)).searchUsersByBirthDateRange(START, END);
+    }
+
+    @Test
+    void invalidatesSearchesContainingChangedUser() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        coalescer.onUserChanged(new UserChangedEvent(null, UserSnapshot.of(user(1L, LocalDate.of(1995, 6, 1)))));
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        verify(userService, times(2)).searchUsersByBirthDateRange(START, END);
+    }
+
+    @Test
+    void separatesTenants() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+
+        TenantContext.callAs("a", () -> coalescer.searchUsersByBirthDateRange(START, END));
+        TenantContext.callAs("b", () -> coalescer.searchUsersByBirthDateRange(START, END));
+        TenantContext.callAs("a", () -> coalescer.searchUsersByBirthDateRange(START, END));
+
+        verify(userService, times(2)).searchUsersByBirthDateRange(START, END);
+    }
+
+    @Test
+    void invalidatesOnlyChangedTenant() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+        TenantContext.callAs("a", () -> coalescer.searchUsersByBirthDateRange(START, END));
+        TenantContext.callAs("b", () -> coalescer.searchUsersByBirthDateRange(START, END));
+
+        TenantContext.callAs("a", () -> {
+            coalescer.onUsersBulkChanged(new UsersBulkChangedEvent(1));
+            return null;
+        });
+        TenantContext.callAs("a", () -> coalescer.searchUsersByBirthDateRange(START, END));
+        TenantContext.callAs("b", () -> coalescer.searchUsersByBirthDateRange(START, END));
+
+        verify(userService, times(3)).searchUsersByBirthDateRange(START, END);
+    }
+
+    @Test
+    void keepsSearchesOutsideChangedRange() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        coalescer.onUserChanged(new UserChangedEvent(UserSnapshot.of(user(1L, LocalDate.of(1980, 1, 1))),
+                UserSnapshot.of(user(1L, LocalDate.of(2000, 1, 1)))));
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        verify(userService, times(1)).searchUsersByBirthDateRange(START, END);
+    }
+
+    @Test
+    void invalidatesAllSearchesOnBulkChange() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        coalescer.onUsersBulkChanged(new UsersBulkChangedEvent(1));
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        verify(userService, times(2)).searchUsersByBirthDateRange(START, END);
+    }
+
+    @Test
+    void findsUsersByIdsInRequestOrder() {
+        UserReadCoalescer coalescer = coalescer(Duration.ZERO);
+        when(userService.findUsersByIds(anyList())).thenReturn(List.of(
+                UserLookupResult.found(user(2L, START)), UserLookupResult.notFound(1L)));
+
+        List<UserLookupResult> results = coalescer.findUsersByIds(List.of(1L, 2L, 1L));
+
+        verify(userService, times(1)).findUsersByIds(List.of(1L, 2L));
+        assertFalse(results.get(0).found());
+        assertTrue(results.get(1).found());
+        assertEquals(2L, results.get(1).id());
+        assertFalse(results.get(2).found());
+    }
+
+    @Test
+    void boundsSearchCache() {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1), 1);
+        LocalDate otherEnd = END.plusDays(1);
+        when(userService.searchUsersByBirthDateRange(eq(START), any())).thenReturn(List.of());
+
+        coalescer.searchUsersByBirthDateRange(START, END);
+        coalescer.searchUsersByBirthDateRange(START, otherEnd);
+        coalescer.searchUsersByBirthDateRange(START, END);
+        coalescer.searchUsersByBirthDateRange(START, otherEnd);
+
+        verify(userService, times(1)).searchUsersByBirthDateRange(START, END);
+        verify(userService, times(2)).searchUsersByBirthDateRange(START, otherEnd);
+    }
+
+    @Test
+    void sweepFreesSpaceTakenByExpiredSearches() throws InterruptedException {
+        UserReadCoalescer coalescer = coalescer(Duration.ofMillis(500), 1);
+        LocalDate otherEnd = END.plusDays(1);
+        when(userService.searchUsersByBirthDateRange(eq(START), any())).thenReturn(List.of());
+        coalescer.searchUsersByBirthDateRange(START, END);
+        Thread.sleep(600);
+
+        coalescer.evictExpired();
+        coalescer.searchUsersByBirthDateRange(START, otherEnd);
+        coalescer.searchUsersByBirthDateRange(START, otherEnd);
+
+        verify(userService, times(1)).searchUsersByBirthDateRange(START, otherEnd);
+    }
+
+    @Test
+    void bypassesCoalescingForClientsPinnedToPrimary() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        when(readYourWritesTrackerProvider.getIfAvailable()).thenReturn(tracker);
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        tracker.bind("writer");
+        try {
+            tracker.recordWrite();
+            coalescer.searchUsersByBirthDateRange(START, END);
+            coalescer.findUsersByIds(List.of(1L));
+        } finally {
+            tracker.clear();
+        }
+
+        verify(userService, times(2)).searchUsersByBirthDateRange(START, END);
+        verify(userService).findUsersByIds(List.of(1L));
+    }
+
+    @Test
+    void doesNotCacheReplicaReadsWithinLagWindowAfterWrite() {
+        when(readYourWritesTrackerProvider.getIfAvailable())
+                .thenReturn(new ReadYourWritesTracker(Duration.ofMinutes(1)));
+        UserReadCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        when(userService.searchUsersByBirthDateRange(START, END)).thenReturn(List.of());
+        coalescer.searchUsersByBirthDateRange(START, END);
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        coalescer.onUsersBulkChanged(new UsersBulkChangedEvent(1));
+        coalescer.searchUsersByBirthDateRange(START, END);
+        coalescer.searchUsersByBirthDateRange(START, END);
+
+        verify(userService, times(3)).searchUsersByBirthDateRange(START, END);
+    }
+
+    private UserReadCoalescer coalescer(Duration searchCacheTtl) {
+        return coalescer(searchCacheTtl, 100);
+    }
+
+    private UserReadCoalescer coalescer(Duration searchCacheTtl, int searchCacheMaxEntries) {
+        return new UserReadCoalescer(userService, readYourWritesTrackerProvider, searchCacheTtl,
+                searchCacheMaxEntries);
+    }
+
+    private User user(Long id, LocalDate birthDate) {
+        User user = new User();
+        user.setId(id);
+        user.setBirthDate(birthDate);
+        return user;
+    }
+}
@@ -1,17 +1,24 @@
 package com.testassignment.user;
 
 import com.testassignment.exceptions.*;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -22,6 +29,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -30,6 +40,18 @@ public class UserServiceTest {
         ReflectionTestUtils.setField(userService, "minAge", 18);
     }
 
+    @Test
+    void createUserRacingOnEmail() {
+        UserCreateDto userCreateDto = new UserCreateDto("test@test.com", "John", "Doe",
+                LocalDate.of(2000, 1, 1), "123 Street", "1234567890");
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        doThrow(new DataIntegrityViolationException("duplicate key", new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key", "23505"), "users_tenant_email_active_idx")))
+                .when(userRepository).flush();
+
+        assertThrows(DuplicatedEmailException.class, () -> userService.createUser(userCreateDto));
+    }
+
     @Test
     void createUser() {
         UserCreateDto userCreateDto = new UserCreateDto("test@test.com", "John", "Doe",
@@ -87,6 +109,7 @@ public class UserServiceTest {
         User user = userService.updateAll(1L, userCreateDto);
 
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
         assertEquals("test@test.com", user.getEmail());
     }
 
@@ -260,6 +283,29 @@ public class UserServiceTest {
         userService.deleteUser(1L);
 
         verify(userRepository, times(1)).delete(any(User.class));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void softDeleteUser() {
+        ReflectionTestUtils.setField(userService, "softDelete", true);
+        when(userRepository.findById(anyLong())).thenReturn(java.util.Optional.of(new User()));
+        when(userRepository.softDeleteById(eq(1L), any())).thenReturn(1);
+
+        userService.deleteUser(1L);
+
+        verify(userRepository, never()).delete(any(User.class));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void softDeleteUserConcurrentlyDeleted() {
+        ReflectionTestUtils.setField(userService, "softDelete", true);
+        when(userRepository.findById(anyLong())).thenReturn(java.util.Optional.of(new User()));
+        when(userRepository.softDeleteById(eq(1L), any())).thenReturn(0);
+
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -273,7 +319,7 @@ public class UserServiceTest {
     void searchUsersByBirthDateRange() {
         LocalDate startDate = LocalDate.of(2000, 1, 1);
         LocalDate endDate = LocalDate.of(2000, 1, 2);
-        when(userRepository.findByBirthDateBetween(startDate, endDate)).thenReturn(java.util.List.of(new User()));
+        when(userRepository.findByBirthDateBetween(startDate, endDate)).thenReturn(List.of(new User()));
 
         userService.searchUsersByBirthDateRange(startDate, endDate);
 
@@ -287,4 +333,21 @@ public class UserServiceTest {
 
         assertThrows(InvalidDateRangeException.class, () -> userService.searchUsersByBirthDateRange(startDate, endDate));
     }
+
+    @Test
+    void findUsersByIds() {
+        User user = new User();
+        user.setId(2L);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user));
+
+        List<UserLookupResult> results = userService.findUsersByIds(List.of(1L, 2L, 1L));
+
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).found());
+        assertEquals(1L, results.get(0).id());
+        assertTrue(results.get(1).found());
+        assertEquals(2L, results.get(1).id());
+        assertFalse(results.get(2).found());
+    }
 }
@@ -0,0 +1,73 @@
+package com.testassignment.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserTombstoneCompactorTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserTombstoneCompactor compactor;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(compactor, "gracePeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(compactor, "batchSize", 2);
+        ReflectionTestUtils.setField(compactor, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(compactor, "maxDuration", Duration.ofMinutes(1));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+        lenient().when(userRepository.purgeTombstones(anyList()))
+                .thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+    }
+
+    @Test
+    void purgesInBatches() {
+        when(userRepository.findTombstoneIds(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L));
+
+        assertEquals(3, compactor.compact());
+
+        verify(userRepository).purgeTombstones(List.of(1L, 2L));
+        verify(userRepository).purgeTombstones(List.of(3L));
+        verify(userRepository, times(2)).findTombstoneIds(any(), eq(2));
+    }
+
+    @Test
+    void stopsAfterMaxDuration() {
+        ReflectionTestUtils.setField(compactor, "maxDuration", Duration.ZERO);
+        when(userRepository.findTombstoneIds(any(), eq(2))).thenReturn(List.of(1L, 2L));
+
+        assertEquals(2, compactor.compact());
+
+        verify(userRepository, times(1)).purgeTombstones(anyList());
+    }
+
+    @Test
+    void nothingToPurge() {
+        when(userRepository.findTombstoneIds(any(), eq(2))).thenReturn(List.of());
+
+        assertEquals(0, compactor.compact());
+
+        verify(userRepository, never()).purgeTombstones(anyList());
+    }
+}